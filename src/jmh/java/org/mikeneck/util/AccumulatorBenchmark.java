@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccumulatorBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    private Optional<String>[] candidates;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        candidates = new Optional[size];
+        for (int i = 0; i < size; i++) {
+            candidates[i] = i % 2 == 0 ? Optional.empty() : Optional.of("candidate-" + i);
+        }
+    }
+
+    @Benchmark
+    public First<String> immutableFirst() {
+        First<String> first = First.empty();
+        for (Optional<String> candidate : candidates) {
+            first = first.append(candidate);
+        }
+        return first;
+    }
+
+    @Benchmark
+    public First<String> accumulatedFirst() {
+        final FirstAccumulator<String> accumulator = First.accumulator();
+        for (Optional<String> candidate : candidates) {
+            accumulator.append(candidate);
+        }
+        return accumulator.toFirst();
+    }
+
+    @Benchmark
+    public Last<String> immutableLast() {
+        Last<String> last = Last.empty();
+        for (Optional<String> candidate : candidates) {
+            last = last.append(candidate);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Last<String> accumulatedLast() {
+        final LastAccumulator<String> accumulator = Last.accumulator();
+        for (Optional<String> candidate : candidates) {
+            accumulator.append(candidate);
+        }
+        return accumulator.toLast();
+    }
+}
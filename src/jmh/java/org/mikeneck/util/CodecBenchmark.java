@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of a small pair and a batch of 100 primitive pairs, with {@link Codecs} and with Java serialization.
+ * {@link Pair} is not serializable, so the serialization side uses the equivalent {@link AbstractMap.SimpleImmutableEntry}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    private static final Codec<Pair<String, Long>> PAIR = Codecs.pair(Codecs.STRING, Codecs.LONG);
+    private static final Codec<First<Pair<String, Long>>> FIRST = Codecs.first(PAIR);
+    private static final Codec<List<IntPair>> BATCH = Codecs.list(Codecs.INT_PAIR);
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private First<Pair<String, Long>> first;
+    private Map.Entry<String, Long> entry;
+    private List<IntPair> batch;
+    private ArrayList<Map.Entry<Integer, Integer>> entries;
+
+    @Setup
+    public void setup() {
+        first = First.of(new Pair<>("user@example.com", 1_234_567L));
+        entry = new AbstractMap.SimpleImmutableEntry<>("user@example.com", 1_234_567L);
+        batch = new ArrayList<>();
+        entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(new IntPair(i, i * 31));
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(i, i * 31));
+        }
+    }
+
+    @Benchmark
+    public First<Pair<String, Long>> codecFirstPair() {
+        buffer.clear();
+        FIRST.write(buffer, first);
+        buffer.flip();
+        return FIRST.read(buffer);
+    }
+
+    @Benchmark
+    public Object serializationPair() throws IOException, ClassNotFoundException {
+        return roundTrip(entry);
+    }
+
+    @Benchmark
+    public List<IntPair> codecBatch() {
+        buffer.clear();
+        BATCH.write(buffer, batch);
+        buffer.flip();
+        return BATCH.read(buffer);
+    }
+
+    @Benchmark
+    public Object serializationBatch() throws IOException, ClassNotFoundException {
+        return roundTrip(entries);
+    }
+
+    private static Object roundTrip(Object value) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight producers against one accumulator. {@link ConcurrentLast} stripes its publication, but every offer
+ * still increments a single shared sequence, so its throughput is bounded by that one contended counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ContentionBenchmark {
+
+    private final Optional<String> candidate = Optional.of("candidate");
+
+    private First<String> lockedFirst;
+    private Last<String> lockedLast;
+    private ConcurrentFirst<String> concurrentFirst;
+    private ConcurrentLast<String> concurrentLast;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        lockedFirst = First.empty();
+        lockedLast = Last.empty();
+        concurrentFirst = new ConcurrentFirst<>();
+        concurrentLast = new ConcurrentLast<>();
+    }
+
+    @Benchmark
+    public void lockedFirst() {
+        synchronized (this) {
+            lockedFirst = lockedFirst.append(candidate);
+        }
+    }
+
+    @Benchmark
+    public boolean concurrentFirst() {
+        return concurrentFirst.offer(candidate);
+    }
+
+    @Benchmark
+    public void lockedLast() {
+        synchronized (this) {
+            lockedLast = lockedLast.append(candidate);
+        }
+    }
+
+    @Benchmark
+    public void concurrentLast() {
+        concurrentLast.offer(candidate);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FallbackMetricsBenchmark {
+
+    private static final FallbackMetrics METRICS = FallbackMetrics.chain("benchmark");
+
+    private final Optional<String> miss = Optional.empty();
+    private final Optional<String> hit = Optional.of("hit");
+
+    @Benchmark
+    public String plain() {
+        return First.<String>empty()
+                .append(() -> miss)
+                .append(() -> hit)
+                .or(() -> "default");
+    }
+
+    @Benchmark
+    public String instrumentedDisabled() {
+        return instrumented();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + FallbackMetrics.PROPERTY + "=true")
+    public String instrumentedEnabled() {
+        return instrumented();
+    }
+
+    private String instrumented() {
+        return First.<String>empty()
+                .append(METRICS.tier(0, () -> miss))
+                .append(METRICS.tier(1, () -> hit))
+                .or(METRICS.fallback(() -> "default"));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FirstBenchmark {
+
+    @Param({"2", "8", "32"})
+    public int chainLength;
+
+    @Param({"head", "middle", "tail", "none"})
+    public String hit;
+
+    private Optional<String>[] candidates;
+    private Supplier<Optional<String>>[] suppliers;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        final int hitPosition = Positions.of(hit, chainLength);
+        candidates = new Optional[chainLength];
+        suppliers = new Supplier[chainLength];
+        for (int i = 0; i < chainLength; i++) {
+            final Optional<String> candidate = i == hitPosition ? Optional.of("hit-" + i) : Optional.empty();
+            candidates[i] = candidate;
+            suppliers[i] = () -> candidate;
+        }
+    }
+
+    @Benchmark
+    public String appendOptional() {
+        First<String> first = First.empty();
+        for (Optional<String> candidate : candidates) {
+            first = first.append(candidate);
+        }
+        return first.or(() -> "none");
+    }
+
+    @Benchmark
+    public String appendSupplier() {
+        First<String> first = First.empty();
+        for (Supplier<Optional<String>> supplier : suppliers) {
+            first = first.append(supplier);
+        }
+        return first.or(() -> "none");
+    }
+
+    @Benchmark
+    public String accumulator() {
+        final FirstAccumulator<String> accumulator = First.accumulator();
+        for (Supplier<Optional<String>> supplier : suppliers) {
+            accumulator.append(supplier);
+        }
+        return accumulator.toFirst().or(() -> "none");
+    }
+
+    @Benchmark
+    public String optionalHandWritten() {
+        for (Supplier<Optional<String>> supplier : suppliers) {
+            final Optional<String> candidate = supplier.get();
+            if (candidate.isPresent()) {
+                return candidate.get();
+            }
+        }
+        return "none";
+    }
+
+    @Benchmark
+    public String nullableHandWritten() {
+        for (Optional<String> candidate : candidates) {
+            final String value = candidate.orElse(null);
+            if (value != null) {
+                return value;
+            }
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LastBenchmark {
+
+    @Param({"2", "8", "32"})
+    public int chainLength;
+
+    @Param({"head", "middle", "tail", "none"})
+    public String hit;
+
+    private Optional<String>[] candidates;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        final int hitPosition = Positions.of(hit, chainLength);
+        candidates = new Optional[chainLength];
+        for (int i = 0; i < chainLength; i++) {
+            candidates[i] = i == hitPosition ? Optional.of("hit-" + i) : Optional.empty();
+        }
+    }
+
+    @Benchmark
+    public Last<String> appendOptional() {
+        Last<String> last = Last.empty();
+        for (Optional<String> candidate : candidates) {
+            last = last.append(candidate);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Last<String> accumulator() {
+        final LastAccumulator<String> accumulator = Last.accumulator();
+        for (Optional<String> candidate : candidates) {
+            accumulator.append(candidate);
+        }
+        return accumulator.toLast();
+    }
+
+    @Benchmark
+    public String optionalHandWritten() {
+        String last = null;
+        for (Optional<String> candidate : candidates) {
+            if (candidate.isPresent()) {
+                last = candidate.get();
+            }
+        }
+        return last == null ? "none" : last;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonoidFoldBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"head", "middle", "tail", "none"})
+    public String hit;
+
+    private First<Integer>[] firsts;
+    private Last<Integer>[] lasts;
+    private Integer[] values;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        final int hitPosition = Positions.of(hit, size);
+        firsts = new First[size];
+        lasts = new Last[size];
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i == hitPosition ? i : null;
+            firsts[i] = First.of(values[i]);
+            lasts[i] = Last.of(values[i]);
+        }
+    }
+
+    @Benchmark
+    public First<Integer> foldFirst() {
+        First<Integer> first = First.empty();
+        for (First<Integer> f : firsts) {
+            first = first.append(f);
+        }
+        return first;
+    }
+
+    @Benchmark
+    public Last<Integer> foldLast() {
+        Last<Integer> last = Last.empty();
+        for (Last<Integer> l : lasts) {
+            last = last.append(l);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public First<Integer> collectFirst() {
+        return Arrays.stream(values).collect(MonoidCollectors.toFirst());
+    }
+
+    @Benchmark
+    public First<Integer> collectFirstParallel() {
+        return Arrays.stream(values).parallel().collect(MonoidCollectors.toFirst());
+    }
+
+    @Benchmark
+    public Integer handWrittenFirst() {
+        for (Integer value : values) {
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairBenchmark {
+
+    @Param({"user@example.com"})
+    public String email;
+
+    private final Predicate<String> fused = PairPipeline.<String, Integer>mkPair(String::length)
+            .mapPair(n -> n * 31)
+            .bimapPair((s, n) -> s.hashCode() ^ n)
+            .filterRight(n -> n != 0)
+            .asPredicate();
+
+    @Benchmark
+    public String pairPipeline() {
+        return Optional.of(email)
+                .map(Pair.mkPair(String::length))
+                .map(Pair.mapPair(n -> n * 31))
+                .map(Pair.bimapPair((s, n) -> s.hashCode() ^ n))
+                .filter(p -> p.getRight() != 0)
+                .map(Pair::getLeft)
+                .orElse("none");
+    }
+
+    @Benchmark
+    public String fusedPipeline() {
+        return Optional.of(email)
+                .filter(fused)
+                .orElse("none");
+    }
+
+    @Benchmark
+    public String handWritten() {
+        final int length = email.length();
+        final int hash = email.hashCode() ^ (length * 31);
+        return hash != 0 ? email : "none";
+    }
+
+    @Benchmark
+    public Pair<String, Integer> mkPair() {
+        return Pair.<String, Integer>mkPair(String::length).apply(email);
+    }
+
+    @Benchmark
+    public ObjIntPair<String> mkPrimitivePair() {
+        return ObjIntPair.<String>mkPair(String::length).apply(email);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairKeyMapBenchmark {
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    private String[] lefts;
+    private Integer[] rights;
+    private int[] intLefts;
+    private int[] intRights;
+    private Map<Pair<String, Integer>, Integer> hashMap;
+    private PairKeyMap<String, Integer, Integer> pairKeyMap;
+    private Map<Pair<Integer, Integer>, Integer> boxedIntMap;
+    private IntPairKeyMap<Integer> intPairKeyMap;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        lefts = new String[size];
+        rights = new Integer[size];
+        intLefts = new int[size];
+        intRights = new int[size];
+        hashMap = new HashMap<>();
+        pairKeyMap = new PairKeyMap<>(size);
+        boxedIntMap = new HashMap<>();
+        intPairKeyMap = new IntPairKeyMap<>(size);
+        for (int i = 0; i < size; i++) {
+            intLefts[i] = random.nextInt();
+            intRights[i] = random.nextInt();
+            lefts[i] = "user-" + intLefts[i];
+            rights[i] = intRights[i];
+            hashMap.put(new Pair<>(lefts[i], rights[i]), i);
+            pairKeyMap.put(lefts[i], rights[i], i);
+            boxedIntMap.put(new Pair<>(intLefts[i], intRights[i]), i);
+            intPairKeyMap.put(intLefts[i], intRights[i], i);
+        }
+    }
+
+    private int next() {
+        final int index = cursor;
+        cursor = index + 1 == size ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public Integer hashMapGet() {
+        final int i = next();
+        return hashMap.get(new Pair<>(lefts[i], rights[i]));
+    }
+
+    @Benchmark
+    public Integer pairKeyMapGet() {
+        final int i = next();
+        return pairKeyMap.get(lefts[i], rights[i]);
+    }
+
+    @Benchmark
+    public Integer boxedIntHashMapGet() {
+        final int i = next();
+        return boxedIntMap.get(new Pair<>(intLefts[i], intRights[i]));
+    }
+
+    @Benchmark
+    public Integer intPairKeyMapGet() {
+        final int i = next();
+        return intPairKeyMap.get(intLefts[i], intRights[i]);
+    }
+}
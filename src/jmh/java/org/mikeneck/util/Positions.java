@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+final class Positions {
+
+    private Positions() {
+    }
+
+    static int of(String hit, int chainLength) {
+        switch (hit) {
+            case "head":
+                return 0;
+            case "middle":
+                return chainLength / 2;
+            case "tail":
+                return chainLength - 1;
+            case "none":
+                return -1;
+            default:
+                throw new IllegalArgumentException("unknown hit position: " + hit);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopKBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    @Param({"10", "1000"})
+    public int k;
+
+    private List<Pair<String, Double>> pairs;
+    private String[] items;
+    private double[] scores;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42L);
+        pairs = new ArrayList<>(SIZE);
+        items = new String[SIZE];
+        scores = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            items[i] = "item-" + i;
+            scores[i] = random.nextDouble();
+            pairs.add(new Pair<>(items[i], scores[i]));
+        }
+    }
+
+    @Benchmark
+    public List<Pair<String, Double>> sortAndLimit() {
+        return pairs.stream()
+                .sorted(Comparator.<Pair<String, Double>, Double>comparing(Pair::getRight).reversed().thenComparing(Pair::getLeft))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Pair<String, Double>> topK() {
+        final TopK<String, Double> top = TopK.largest(k);
+        for (Pair<String, Double> pair : pairs) {
+            top.add(pair);
+        }
+        return top.toList();
+    }
+
+    @Benchmark
+    public List<ObjDoublePair<String>> doubleTopK() {
+        final DoubleTopK<String> top = DoubleTopK.largest(k);
+        for (int i = 0; i < SIZE; i++) {
+            top.add(items[i], scores[i]);
+        }
+        return top.toList();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The item with the best score, immutable; {@link #append} keeps the better of the two with the comparators
+ * of this instance. Equal scores go to the item that is smaller under the tie-break comparator.
+ */
+public final class Arg<T, S> implements Monoid<Pair<T, S>, Arg<T, S>> {
+
+    private final Comparator<? super S> scoreOrder;
+    private final Comparator<? super T> tieBreak;
+    private final T item;
+    private final S score;
+
+    private Arg(Comparator<? super S> scoreOrder, Comparator<? super T> tieBreak, T item, S score) {
+        this.scoreOrder = scoreOrder;
+        this.tieBreak = tieBreak;
+        this.item = item;
+        this.score = score;
+    }
+
+    /**
+     * The empty arg-max under {@code scoreOrder}.
+     */
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <T, S> Arg<T, S> max(
+            @NotNull @NonNull Comparator<? super S> scoreOrder,
+            @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return new Arg<>(scoreOrder, tieBreak, null, null);
+    }
+
+    /**
+     * The empty arg-min under {@code scoreOrder}.
+     */
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <T, S> Arg<T, S> min(
+            @NotNull @NonNull Comparator<? super S> scoreOrder,
+            @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return new Arg<>(scoreOrder.reversed(), tieBreak, null, null);
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>, S extends Comparable<? super S>> Arg<T, S> max() {
+        return max(Comparator.naturalOrder(), Comparator.naturalOrder());
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>, S extends Comparable<? super S>> Arg<T, S> min() {
+        return min(Comparator.naturalOrder(), Comparator.naturalOrder());
+    }
+
+    /**
+     * Returns a candidate holding only {@code item}, with the comparators of this instance.
+     */
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public Arg<T, S> of(@NotNull @NonNull T item, @NotNull @NonNull S score) {
+        return new Arg<>(scoreOrder, tieBreak, item, score);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public Arg<T, S> of(@NotNull @NonNull Pair<T, S> pair) {
+        return of(pair.getLeft(), pair.getRight());
+    }
+
+    public boolean isEmpty() {
+        return item == null;
+    }
+
+    @NotNull
+    public Optional<T> getItem() {
+        return Optional.ofNullable(item);
+    }
+
+    @NotNull
+    public Optional<S> getScore() {
+        return Optional.ofNullable(score);
+    }
+
+    @NotNull
+    public Optional<Pair<T, S>> toPair() {
+        return isEmpty() ? Optional.empty() : Optional.of(new Pair<>(item, score));
+    }
+
+    @NotNull
+    @Override
+    public Arg<T, S> append(@NotNull @NonNull Arg<T, S> other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return of(other.item, other.score);
+        }
+        final int byScore = scoreOrder.compare(score, other.score);
+        final int order = byScore != 0 ? byScore : tieBreak.compare(other.item, item);
+        return order >= 0 ? this : of(other.item, other.score);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Arg)) {
+            return false;
+        }
+        final Arg<?, ?> that = (Arg<?, ?>) o;
+        return Objects.equals(item, that.item) && Objects.equals(score, that.score);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(item, score);
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "Arg(empty)" : "Arg(item=" + item + ", score=" + score + ")";
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Batch size and concurrency limits for one tier of a {@link BatchResolver}.
+ * Without an executor the batches of a tier are loaded one after another on the calling thread.
+ */
+public final class BatchPolicy {
+
+    private static final BatchPolicy UNBOUNDED = new BatchPolicy(Integer.MAX_VALUE, 1, null);
+
+    private final int maximumBatchSize;
+    private final int concurrency;
+    private final Executor executor;
+
+    private BatchPolicy(int maximumBatchSize, int concurrency, Executor executor) {
+        this.maximumBatchSize = maximumBatchSize;
+        this.concurrency = concurrency;
+        this.executor = executor;
+    }
+
+    @NotNull
+    public static BatchPolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    @NotNull
+    public static BatchPolicy of(int maximumBatchSize) {
+        if (maximumBatchSize < 1) {
+            throw new IllegalArgumentException("maximum batch size must be positive: " + maximumBatchSize);
+        }
+        return new BatchPolicy(maximumBatchSize, 1, null);
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public BatchPolicy withConcurrency(int concurrency, @NotNull @NonNull Executor executor) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        return new BatchPolicy(maximumBatchSize, concurrency, executor);
+    }
+
+    int getMaximumBatchSize() {
+        return maximumBatchSize;
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Resolves many keys at once through tiers of batch sources with {@link First} semantics.
+ * Every tier is asked only for the keys no earlier tier resolved, split into batches of at most
+ * {@link BatchPolicy#of(int) maximum batch size} and loaded with at most the configured concurrency.
+ * A source returns the entries it found; absent keys and {@code null} values fall through to the next tier.
+ */
+public final class BatchResolver<K, V> {
+
+    private final List<Tier<K, V>> tiers;
+
+    private BatchResolver(List<Tier<K, V>> tiers) {
+        this.tiers = tiers;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <K, V> BatchResolver<K, V> first(@NotNull @NonNull Function<? super List<K>, Map<K, V>> source) {
+        return first(source, BatchPolicy.unbounded());
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <K, V> BatchResolver<K, V> first(
+            @NotNull @NonNull Function<? super List<K>, Map<K, V>> source,
+            @NotNull @NonNull BatchPolicy policy) {
+        return new BatchResolver<>(Collections.singletonList(new Tier<>(source, policy)));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public BatchResolver<K, V> then(@NotNull @NonNull Function<? super List<K>, Map<K, V>> source) {
+        return then(source, BatchPolicy.unbounded());
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public BatchResolver<K, V> then(
+            @NotNull @NonNull Function<? super List<K>, Map<K, V>> source,
+            @NotNull @NonNull BatchPolicy policy) {
+        final List<Tier<K, V>> tiers = new ArrayList<>(this.tiers);
+        tiers.add(new Tier<>(source, policy));
+        return new BatchResolver<>(Collections.unmodifiableList(tiers));
+    }
+
+    /**
+     * Returns a result for every distinct key, in the order the keys were given.
+     */
+    @NotNull
+    @Contract("null->fail")
+    public Map<K, First<V>> resolveAll(@NotNull @NonNull Collection<? extends K> keys) {
+        final Map<K, First<V>> results = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (key == null) {
+                throw new NullPointerException("keys must not contain null");
+            }
+            results.put(key, First.empty());
+        }
+        List<K> pending = new ArrayList<>(results.keySet());
+        for (Tier<K, V> tier : tiers) {
+            if (pending.isEmpty()) {
+                break;
+            }
+            final Map<K, V> found = tier.load(pending);
+            final List<K> unresolved = new ArrayList<>();
+            for (K key : pending) {
+                final V value = found.get(key);
+                if (value == null) {
+                    unresolved.add(key);
+                } else {
+                    results.put(key, First.of(value));
+                }
+            }
+            pending = unresolved;
+        }
+        return results;
+    }
+
+    private static final class Tier<K, V> {
+
+        private final Function<? super List<K>, Map<K, V>> source;
+        private final BatchPolicy policy;
+
+        private Tier(Function<? super List<K>, Map<K, V>> source, BatchPolicy policy) {
+            this.source = source;
+            this.policy = policy;
+        }
+
+        private Map<K, V> load(List<K> keys) {
+            final int batchSize = policy.getMaximumBatchSize();
+            if (keys.size() <= batchSize) {
+                return fetch(keys);
+            }
+            final List<List<K>> batches = new ArrayList<>();
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                batches.add(keys.subList(from, Math.min(keys.size(), from + batchSize)));
+            }
+            if (policy.getExecutor() == null) {
+                final Map<K, V> found = new HashMap<>();
+                for (List<K> batch : batches) {
+                    found.putAll(fetch(batch));
+                }
+                return found;
+            }
+            return loadConcurrently(batches);
+        }
+
+        /**
+         * Loads the batches on the policy's executor. On interruption or failure, batches that have not started
+         * are skipped; batches already running cannot be interrupted and run to completion.
+         */
+        private Map<K, V> loadConcurrently(List<List<K>> batches) {
+            final Semaphore permits = new Semaphore(policy.getConcurrency());
+            final List<CompletableFuture<Map<K, V>>> futures = new ArrayList<>(batches.size());
+            try {
+                for (List<K> batch : batches) {
+                    permits.acquire();
+                    futures.add(submit(batch, permits));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(false));
+                throw new CancellationException("interrupted while loading batches");
+            }
+            final Map<K, V> found = new HashMap<>();
+            try {
+                for (CompletableFuture<Map<K, V>> future : futures) {
+                    found.putAll(await(future));
+                }
+            } catch (RuntimeException | Error e) {
+                futures.forEach(future -> future.cancel(false));
+                throw e;
+            }
+            return found;
+        }
+
+        private CompletableFuture<Map<K, V>> submit(List<K> batch, Semaphore permits) {
+            try {
+                final CompletableFuture<Map<K, V>> future =
+                        CompletableFuture.supplyAsync(() -> fetch(batch), policy.getExecutor());
+                future.whenComplete((found, failure) -> permits.release());
+                return future;
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                final CompletableFuture<Map<K, V>> future = new CompletableFuture<>();
+                try {
+                    future.complete(fetch(batch));
+                } catch (RuntimeException | Error failure) {
+                    future.completeExceptionally(failure);
+                }
+                return future;
+            }
+        }
+
+        private Map<K, V> fetch(List<K> batch) {
+            final Map<K, V> found = source.apply(Collections.unmodifiableList(batch));
+            return found == null ? Collections.emptyMap() : found;
+        }
+
+        private static <V> V await(CompletableFuture<V> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
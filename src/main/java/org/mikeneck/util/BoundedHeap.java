@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Heap of at most {@code k} items whose root is the worst item retained, shared by the top-K variants.
+ * Subclasses keep the scores in a column of their own type, parallel to {@code items}, and rank scores through
+ * {@link #compareScores}; equal scores go to the item that is smaller under the tie-break comparator.
+ */
+abstract class BoundedHeap<T> {
+
+    final int k;
+    final Comparator<? super T> tieBreak;
+    Object[] items;
+    int size;
+
+    BoundedHeap(int k, Comparator<? super T> tieBreak) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.tieBreak = tieBreak;
+        this.items = new Object[Math.min(k, 16)];
+    }
+
+    /**
+     * Positive when the score in slot {@code a} ranks better than the score in slot {@code b}.
+     */
+    abstract int compareScores(int a, int b);
+
+    abstract void swapScores(int a, int b);
+
+    abstract void growScores(int capacity);
+
+    public int getK() {
+        return k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Reserves the next free slot while fewer than {@code k} items are retained.
+     */
+    final int push() {
+        if (size == items.length) {
+            final int capacity = Math.min(k, Columns.grow(items.length, size + 1));
+            items = Arrays.copyOf(items, capacity);
+            growScores(capacity);
+        }
+        return size++;
+    }
+
+    /**
+     * Whether a new item should replace the root of a full heap; {@code byScore} is positive when the new score
+     * ranks better than the root's.
+     */
+    final boolean beatsRoot(T item, int byScore) {
+        return byScore > 0 || byScore == 0 && tieBreak.compare(item(0), item) > 0;
+    }
+
+    /**
+     * Restores the heap after {@code slot}, either a pushed slot or the root, has been written.
+     */
+    final void placed(int slot) {
+        if (slot == size - 1) {
+            siftUp(slot);
+        } else {
+            siftDown(slot);
+        }
+    }
+
+    /**
+     * Returns the slots of the retained items, best first.
+     */
+    final int[] order() {
+        return Columns.order(size, (a, b) -> compare(b, a));
+    }
+
+    @SuppressWarnings("unchecked")
+    final T item(int index) {
+        return (T) items[index];
+    }
+
+    private int compare(int a, int b) {
+        final int byScore = compareScores(a, b);
+        return byScore != 0 ? byScore : tieBreak.compare(item(b), item(a));
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (compare(index, parent) >= 0) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            final int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            final int right = left + 1;
+            final int worse = right < size && compare(right, left) < 0 ? right : left;
+            if (compare(worse, index) >= 0) {
+                return;
+            }
+            swap(index, worse);
+            index = worse;
+        }
+    }
+
+    private void swap(int a, int b) {
+        final Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+        swapScores(a, b);
+    }
+}
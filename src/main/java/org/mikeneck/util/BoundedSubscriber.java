@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subscriber that keeps at most {@code batchSize} elements requested, replenishing half a batch at a time,
+ * and completes {@link #result()} when the upstream completes or the fold is settled early.
+ * Cancelling the result cancels the subscription.
+ */
+abstract class BoundedSubscriber<T, S> implements Subscriber<T> {
+
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final int batchSize;
+    private final int replenish;
+    private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+    private final CompletableFuture<S> result = new CompletableFuture<>();
+    private int consumed;
+    private boolean done;
+
+    BoundedSubscriber(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.replenish = Math.max(1, batchSize >> 1);
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                final Subscription current = subscription.get();
+                if (current != null) {
+                    current.cancel();
+                }
+            }
+        });
+    }
+
+    /**
+     * Folds one element and returns whether the result is settled, so that no more elements are needed.
+     */
+    abstract boolean accept(@NotNull T item);
+
+    @NotNull
+    abstract S settle();
+
+    @NotNull
+    public CompletableFuture<S> result() {
+        return result;
+    }
+
+    @Override
+    public final void onSubscribe(Subscription s) {
+        Objects.requireNonNull(s, "subscription");
+        if (!subscription.compareAndSet(null, s) || result.isDone()) {
+            s.cancel();
+            return;
+        }
+        s.request(batchSize);
+    }
+
+    @Override
+    public final void onNext(T item) {
+        Objects.requireNonNull(item, "item");
+        if (done || result.isDone()) {
+            return;
+        }
+        final boolean settled;
+        try {
+            settled = accept(item);
+        } catch (Throwable e) {
+            done = true;
+            subscription.get().cancel();
+            result.completeExceptionally(e);
+            return;
+        }
+        if (settled) {
+            done = true;
+            subscription.get().cancel();
+            result.complete(settle());
+            return;
+        }
+        if (++consumed == replenish) {
+            consumed = 0;
+            subscription.get().request(replenish);
+        }
+    }
+
+    @Override
+    public final void onError(Throwable t) {
+        Objects.requireNonNull(t, "throwable");
+        if (!done) {
+            done = true;
+            result.completeExceptionally(t);
+        }
+    }
+
+    @Override
+    public final void onComplete() {
+        if (!done) {
+            done = true;
+            result.complete(settle());
+        }
+    }
+}
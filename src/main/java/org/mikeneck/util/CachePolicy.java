@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, expiring cache settings for one tier of a {@link TieredResolver}.
+ * Hits and misses have separate time-to-live values; a zero TTL disables caching of that kind.
+ */
+public final class CachePolicy {
+
+    private static final CachePolicy NONE = new CachePolicy(0, 0L, 0L, System::nanoTime);
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier nanoClock;
+
+    private CachePolicy(int maximumSize, long ttlNanos, long negativeTtlNanos, LongSupplier nanoClock) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    @NotNull
+    public static CachePolicy none() {
+        return NONE;
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public static CachePolicy of(int maximumSize, @NotNull @NonNull Duration ttl) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximum size must be positive: " + maximumSize);
+        }
+        return new CachePolicy(maximumSize, nanosOf(ttl), 0L, System::nanoTime);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public CachePolicy withNegativeTtl(@NotNull @NonNull Duration negativeTtl) {
+        return new CachePolicy(maximumSize, ttlNanos, nanosOf(negativeTtl), nanoClock);
+    }
+
+    @NotNull
+    CachePolicy withNanoClock(@NotNull LongSupplier nanoClock) {
+        return new CachePolicy(maximumSize, ttlNanos, negativeTtlNanos, nanoClock);
+    }
+
+    boolean isEnabled() {
+        return maximumSize > 0 && (ttlNanos > 0L || negativeTtlNanos > 0L);
+    }
+
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    long getTtlNanos() {
+        return ttlNanos;
+    }
+
+    long getNegativeTtlNanos() {
+        return negativeTtlNanos;
+    }
+
+    LongSupplier getNanoClock() {
+        return nanoClock;
+    }
+
+    private static long nanosOf(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("duration must not be negative: " + duration);
+        }
+        return duration.toNanos();
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary encoding of values directly into and out of a {@link ByteBuffer}, at its current position.
+ * Writing past the limit throws {@link java.nio.BufferOverflowException} and leaves the position undefined.
+ * Implementations for common types are in {@link Codecs}.
+ */
+public interface Codec<T> {
+
+    void write(@NotNull ByteBuffer buffer, @NotNull T value);
+
+    @NotNull
+    T read(@NotNull ByteBuffer buffer);
+}
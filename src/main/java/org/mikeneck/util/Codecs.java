@@ -0,0 +1,620 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link Codec}s for primitives, strings, pairs, {@link First}, {@link Last} and lists.
+ * <p>
+ * {@link First} and {@link Last} start with a one-byte tag, {@code 0} for empty and {@code 1} for present;
+ * strings and lists start with an {@code int} length. Primitive pairs and accumulators have dedicated codecs
+ * that write their values without boxing.
+ */
+public final class Codecs {
+
+    static final byte EMPTY = 0;
+    static final byte PRESENT = 1;
+
+    public static final Codec<Integer> INT = new Codec<Integer>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull Integer value) {
+            buffer.putInt(value);
+        }
+
+        @NotNull
+        @Override
+        public Integer read(@NotNull ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<Long>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull Long value) {
+            buffer.putLong(value);
+        }
+
+        @NotNull
+        @Override
+        public Long read(@NotNull ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    public static final Codec<Double> DOUBLE = new Codec<Double>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull Double value) {
+            buffer.putDouble(value);
+        }
+
+        @NotNull
+        @Override
+        public Double read(@NotNull ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    /**
+     * UTF-8 string, encoded straight into the buffer with its byte length patched in afterwards.
+     */
+    public static final Codec<String> STRING = new Codec<String>() {
+
+        private final ThreadLocal<CharsetEncoder> encoders = ThreadLocal.withInitial(StandardCharsets.UTF_8::newEncoder);
+        private final ThreadLocal<CharsetDecoder> decoders = ThreadLocal.withInitial(StandardCharsets.UTF_8::newDecoder);
+
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull String value) {
+            final int lengthAt = buffer.position();
+            buffer.putInt(0);
+            final CharsetEncoder encoder = encoders.get().reset();
+            final CoderResult result = encoder.encode(CharBuffer.wrap(value), buffer, true);
+            if (result.isError()) {
+                throw new IllegalArgumentException("string is not encodable: " + result);
+            }
+            if (result.isOverflow() || encoder.flush(buffer).isOverflow()) {
+                throw new BufferOverflowException();
+            }
+            buffer.putInt(lengthAt, buffer.position() - lengthAt - Integer.BYTES);
+        }
+
+        @NotNull
+        @Override
+        public String read(@NotNull ByteBuffer buffer) {
+            final int length = length(buffer, 1);
+            final int start = buffer.position();
+            final ByteBuffer bytes = buffer.duplicate();
+            bytes.limit(start + length);
+            buffer.position(start + length);
+            try {
+                return decoders.get().reset().decode(bytes).toString();
+            } catch (CharacterCodingException e) {
+                throw new IllegalArgumentException("malformed string", e);
+            }
+        }
+    };
+
+    public static final Codec<IntPair> INT_PAIR = new Codec<IntPair>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull IntPair value) {
+            buffer.putInt(value.getLeft()).putInt(value.getRight());
+        }
+
+        @NotNull
+        @Override
+        public IntPair read(@NotNull ByteBuffer buffer) {
+            return new IntPair(buffer.getInt(), buffer.getInt());
+        }
+    };
+
+    public static final Codec<LongPair> LONG_PAIR = new Codec<LongPair>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull LongPair value) {
+            buffer.putLong(value.getLeft()).putLong(value.getRight());
+        }
+
+        @NotNull
+        @Override
+        public LongPair read(@NotNull ByteBuffer buffer) {
+            return new LongPair(buffer.getLong(), buffer.getLong());
+        }
+    };
+
+    public static final Codec<DoublePair> DOUBLE_PAIR = new Codec<DoublePair>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull DoublePair value) {
+            buffer.putDouble(value.getLeft()).putDouble(value.getRight());
+        }
+
+        @NotNull
+        @Override
+        public DoublePair read(@NotNull ByteBuffer buffer) {
+            return new DoublePair(buffer.getDouble(), buffer.getDouble());
+        }
+    };
+
+    public static final Codec<FirstInt> FIRST_INT = new Codec<FirstInt>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull FirstInt value) {
+            if (value.isEmpty()) {
+                buffer.put(EMPTY);
+            } else {
+                buffer.put(PRESENT).putInt(value.orElse(0));
+            }
+        }
+
+        @NotNull
+        @Override
+        public FirstInt read(@NotNull ByteBuffer buffer) {
+            return tag(buffer) ? FirstInt.of(buffer.getInt()) : FirstInt.empty();
+        }
+    };
+
+    public static final Codec<FirstLong> FIRST_LONG = new Codec<FirstLong>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull FirstLong value) {
+            if (value.isEmpty()) {
+                buffer.put(EMPTY);
+            } else {
+                buffer.put(PRESENT).putLong(value.orElse(0L));
+            }
+        }
+
+        @NotNull
+        @Override
+        public FirstLong read(@NotNull ByteBuffer buffer) {
+            return tag(buffer) ? FirstLong.of(buffer.getLong()) : FirstLong.empty();
+        }
+    };
+
+    public static final Codec<FirstDouble> FIRST_DOUBLE = new Codec<FirstDouble>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull FirstDouble value) {
+            if (value.isEmpty()) {
+                buffer.put(EMPTY);
+            } else {
+                buffer.put(PRESENT).putDouble(value.orElse(0.0));
+            }
+        }
+
+        @NotNull
+        @Override
+        public FirstDouble read(@NotNull ByteBuffer buffer) {
+            return tag(buffer) ? FirstDouble.of(buffer.getDouble()) : FirstDouble.empty();
+        }
+    };
+
+    public static final Codec<LastInt> LAST_INT = new Codec<LastInt>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull LastInt value) {
+            if (value.isEmpty()) {
+                buffer.put(EMPTY);
+            } else {
+                buffer.put(PRESENT).putInt(value.orElse(0));
+            }
+        }
+
+        @NotNull
+        @Override
+        public LastInt read(@NotNull ByteBuffer buffer) {
+            return tag(buffer) ? LastInt.of(buffer.getInt()) : LastInt.empty();
+        }
+    };
+
+    public static final Codec<LastLong> LAST_LONG = new Codec<LastLong>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull LastLong value) {
+            if (value.isEmpty()) {
+                buffer.put(EMPTY);
+            } else {
+                buffer.put(PRESENT).putLong(value.orElse(0L));
+            }
+        }
+
+        @NotNull
+        @Override
+        public LastLong read(@NotNull ByteBuffer buffer) {
+            return tag(buffer) ? LastLong.of(buffer.getLong()) : LastLong.empty();
+        }
+    };
+
+    public static final Codec<LastDouble> LAST_DOUBLE = new Codec<LastDouble>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull LastDouble value) {
+            if (value.isEmpty()) {
+                buffer.put(EMPTY);
+            } else {
+                buffer.put(PRESENT).putDouble(value.orElse(0.0));
+            }
+        }
+
+        @NotNull
+        @Override
+        public LastDouble read(@NotNull ByteBuffer buffer) {
+            return tag(buffer) ? LastDouble.of(buffer.getDouble()) : LastDouble.empty();
+        }
+    };
+
+    /**
+     * Writes the size followed by the left column and the right column.
+     */
+    public static final Codec<IntPairList> INT_PAIR_LIST = new Codec<IntPairList>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull IntPairList value) {
+            final int size = value.size();
+            buffer.putInt(size);
+            for (int i = 0; i < size; i++) {
+                buffer.putInt(value.getLeft(i));
+            }
+            for (int i = 0; i < size; i++) {
+                buffer.putInt(value.getRight(i));
+            }
+        }
+
+        @NotNull
+        @Override
+        public IntPairList read(@NotNull ByteBuffer buffer) {
+            final int size = length(buffer, Integer.BYTES * 2);
+            final int[] lefts = new int[size];
+            final int[] rights = new int[size];
+            buffer.asIntBuffer().get(lefts);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.asIntBuffer().get(rights);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            final IntPairList list = new IntPairList(size);
+            list.addAll(lefts, rights);
+            return list;
+        }
+    };
+
+    /**
+     * Writes the size followed by the left column and the right column.
+     */
+    public static final Codec<LongPairList> LONG_PAIR_LIST = new Codec<LongPairList>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull LongPairList value) {
+            final int size = value.size();
+            buffer.putInt(size);
+            for (int i = 0; i < size; i++) {
+                buffer.putLong(value.getLeft(i));
+            }
+            for (int i = 0; i < size; i++) {
+                buffer.putLong(value.getRight(i));
+            }
+        }
+
+        @NotNull
+        @Override
+        public LongPairList read(@NotNull ByteBuffer buffer) {
+            final int size = length(buffer, Long.BYTES * 2);
+            final long[] lefts = new long[size];
+            final long[] rights = new long[size];
+            buffer.asLongBuffer().get(lefts);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asLongBuffer().get(rights);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            final LongPairList list = new LongPairList(size);
+            list.addAll(lefts, rights);
+            return list;
+        }
+    };
+
+    public static final Codec<Version> VERSION = new Codec<Version>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull Version value) {
+            buffer.putLong(value.getTimestamp()).putInt(value.getNode());
+        }
+
+        @NotNull
+        @Override
+        public Version read(@NotNull ByteBuffer buffer) {
+            return new Version(buffer.getLong(), buffer.getInt());
+        }
+    };
+
+    public static final Codec<HyperLogLog> HYPER_LOG_LOG = new Codec<HyperLogLog>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull HyperLogLog value) {
+            buffer.put((byte) value.getPrecision()).put(value.registers());
+        }
+
+        @NotNull
+        @Override
+        public HyperLogLog read(@NotNull ByteBuffer buffer) {
+            final int precision = buffer.get();
+            if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+                throw new IllegalArgumentException("invalid precision: " + precision);
+            }
+            final byte[] registers = new byte[1 << precision];
+            buffer.get(registers);
+            return new HyperLogLog(precision, registers);
+        }
+    };
+
+    public static final Codec<CountMinSketch> COUNT_MIN_SKETCH = new Codec<CountMinSketch>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull CountMinSketch value) {
+            buffer.putInt(value.getWidth()).putInt(value.getDepth()).putLong(value.getTotal());
+            final long[] counts = value.counts();
+            buffer.asLongBuffer().put(counts);
+            buffer.position(buffer.position() + counts.length * Long.BYTES);
+        }
+
+        @NotNull
+        @Override
+        public CountMinSketch read(@NotNull ByteBuffer buffer) {
+            final int width = buffer.getInt();
+            final int depth = buffer.getInt();
+            final long total = buffer.getLong();
+            if (width < 1 || depth < 1 || (long) width * depth * Long.BYTES > buffer.remaining()) {
+                throw new IllegalArgumentException("invalid dimensions: " + width + "x" + depth);
+            }
+            final long[] counts = new long[width * depth];
+            buffer.asLongBuffer().get(counts);
+            buffer.position(buffer.position() + counts.length * Long.BYTES);
+            return new CountMinSketch(width, depth, counts, total);
+        }
+    };
+
+    /**
+     * Writes {@code k}, the count, minimum and maximum, then every level as a length-prefixed run of doubles.
+     */
+    public static final Codec<KllSketch> KLL_SKETCH = new Codec<KllSketch>() {
+        @Override
+        public void write(@NotNull ByteBuffer buffer, @NotNull KllSketch value) {
+            buffer.putInt(value.getK()).putLong(value.getN()).putDouble(value.getMin()).putDouble(value.getMax());
+            buffer.putInt(value.levelCount());
+            for (int level = 0; level < value.levelCount(); level++) {
+                final int size = value.levelSize(level);
+                buffer.putInt(size);
+                buffer.asDoubleBuffer().put(value.level(level), 0, size);
+                buffer.position(buffer.position() + size * Double.BYTES);
+            }
+        }
+
+        @NotNull
+        @Override
+        public KllSketch read(@NotNull ByteBuffer buffer) {
+            final int k = buffer.getInt();
+            final long n = buffer.getLong();
+            final double min = buffer.getDouble();
+            final double max = buffer.getDouble();
+            final int levelCount = length(buffer, Integer.BYTES);
+            if (k < KllSketch.MIN_K || levelCount < 1 || levelCount > Long.SIZE) {
+                throw new IllegalArgumentException("invalid sketch header: k=" + k + ", levels=" + levelCount);
+            }
+            final double[][] levels = new double[levelCount][];
+            final int[] sizes = new int[levelCount];
+            for (int level = 0; level < levelCount; level++) {
+                sizes[level] = length(buffer, Double.BYTES);
+                levels[level] = new double[Math.max(sizes[level], 1)];
+                buffer.asDoubleBuffer().get(levels[level], 0, sizes[level]);
+                buffer.position(buffer.position() + sizes[level] * Double.BYTES);
+            }
+            return new KllSketch(k, n, min, max, levels, sizes);
+        }
+    };
+
+    private Codecs() {
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <L, R> Codec<Pair<L, R>> pair(@NotNull @NonNull Codec<L> left, @NotNull @NonNull Codec<R> right) {
+        return new Codec<Pair<L, R>>() {
+            @Override
+            public void write(@NotNull ByteBuffer buffer, @NotNull Pair<L, R> value) {
+                left.write(buffer, value.getLeft());
+                right.write(buffer, value.getRight());
+            }
+
+            @NotNull
+            @Override
+            public Pair<L, R> read(@NotNull ByteBuffer buffer) {
+                final L l = left.read(buffer);
+                return new Pair<>(l, right.read(buffer));
+            }
+        };
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> Codec<ObjIntPair<L>> objIntPair(@NotNull @NonNull Codec<L> left) {
+        return new Codec<ObjIntPair<L>>() {
+            @Override
+            public void write(@NotNull ByteBuffer buffer, @NotNull ObjIntPair<L> value) {
+                left.write(buffer, value.getLeft());
+                buffer.putInt(value.getRight());
+            }
+
+            @NotNull
+            @Override
+            public ObjIntPair<L> read(@NotNull ByteBuffer buffer) {
+                final L l = left.read(buffer);
+                return new ObjIntPair<>(l, buffer.getInt());
+            }
+        };
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> Codec<ObjLongPair<L>> objLongPair(@NotNull @NonNull Codec<L> left) {
+        return new Codec<ObjLongPair<L>>() {
+            @Override
+            public void write(@NotNull ByteBuffer buffer, @NotNull ObjLongPair<L> value) {
+                left.write(buffer, value.getLeft());
+                buffer.putLong(value.getRight());
+            }
+
+            @NotNull
+            @Override
+            public ObjLongPair<L> read(@NotNull ByteBuffer buffer) {
+                final L l = left.read(buffer);
+                return new ObjLongPair<>(l, buffer.getLong());
+            }
+        };
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T> Codec<First<T>> first(@NotNull @NonNull Codec<T> element) {
+        return new Codec<First<T>>() {
+            @Override
+            public void write(@NotNull ByteBuffer buffer, @NotNull First<T> value) {
+                if (value.isEmpty()) {
+                    buffer.put(EMPTY);
+                } else {
+                    buffer.put(PRESENT);
+                    element.write(buffer, value.or(() -> null));
+                }
+            }
+
+            @NotNull
+            @Override
+            public First<T> read(@NotNull ByteBuffer buffer) {
+                return tag(buffer) ? First.of(element.read(buffer)) : First.empty();
+            }
+        };
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T> Codec<Last<T>> last(@NotNull @NonNull Codec<T> element) {
+        return new Codec<Last<T>>() {
+            @Override
+            public void write(@NotNull ByteBuffer buffer, @NotNull Last<T> value) {
+                if (value.isEmpty()) {
+                    buffer.put(EMPTY);
+                } else {
+                    buffer.put(PRESENT);
+                    element.write(buffer, value.or(() -> null));
+                }
+            }
+
+            @NotNull
+            @Override
+            public Last<T> read(@NotNull ByteBuffer buffer) {
+                return tag(buffer) ? Last.of(element.read(buffer)) : Last.empty();
+            }
+        };
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T> Codec<VersionedLast<T>> versionedLast(@NotNull @NonNull Codec<T> element) {
+        return new Codec<VersionedLast<T>>() {
+            @Override
+            public void write(@NotNull ByteBuffer buffer, @NotNull VersionedLast<T> value) {
+                if (value.isEmpty()) {
+                    buffer.put(EMPTY);
+                } else {
+                    buffer.put(PRESENT);
+                    VERSION.write(buffer, value.getVersion().get());
+                    element.write(buffer, value.or(() -> null));
+                }
+            }
+
+            @NotNull
+            @Override
+            public VersionedLast<T> read(@NotNull ByteBuffer buffer) {
+                if (!tag(buffer)) {
+                    return VersionedLast.empty();
+                }
+                final Version version = VERSION.read(buffer);
+                return VersionedLast.of(version, element.read(buffer));
+            }
+        };
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T> Codec<List<T>> list(@NotNull @NonNull Codec<T> element) {
+        return new Codec<List<T>>() {
+            @Override
+            public void write(@NotNull ByteBuffer buffer, @NotNull List<T> value) {
+                buffer.putInt(value.size());
+                for (T each : value) {
+                    element.write(buffer, each);
+                }
+            }
+
+            @NotNull
+            @Override
+            public List<T> read(@NotNull ByteBuffer buffer) {
+                final int size = length(buffer, 1);
+                final List<T> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(element.read(buffer));
+                }
+                return list;
+            }
+        };
+    }
+
+    /**
+     * Encodes {@code value} into a new buffer, growing it until the value fits, and returns it flipped for reading.
+     */
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <T> ByteBuffer encode(@NotNull @NonNull Codec<T> codec, @NotNull @NonNull T value) {
+        int capacity = 64;
+        while (true) {
+            final ByteBuffer buffer = ByteBuffer.allocate(capacity);
+            try {
+                codec.write(buffer, value);
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                if (capacity > Integer.MAX_VALUE / 2) {
+                    throw e;
+                }
+                capacity <<= 1;
+            }
+        }
+    }
+
+    private static boolean tag(ByteBuffer buffer) {
+        final byte tag = buffer.get();
+        if (tag == PRESENT) {
+            return true;
+        }
+        if (tag == EMPTY) {
+            return false;
+        }
+        throw new IllegalArgumentException("unknown tag: " + tag);
+    }
+
+    private static int length(ByteBuffer buffer, int minimumBytesPerElement) {
+        final int length = buffer.getInt();
+        if (length < 0 || (long) length * minimumBytesPerElement > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid length: " + length);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import java.util.function.IntBinaryOperator;
+
+final class Columns {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Columns() {
+    }
+
+    static int grow(int capacity, int required) {
+        if (required < 0) {
+            throw new OutOfMemoryError("required capacity overflows int");
+        }
+        final int doubled = capacity + Math.max(capacity >> 1, 8);
+        return doubled < 0 || doubled < required ? required : doubled;
+    }
+
+    static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+
+    static void checkSameLength(int left, int right) {
+        if (left != right) {
+            throw new IllegalArgumentException("column lengths differ: " + left + " and " + right);
+        }
+    }
+
+    /**
+     * Returns the stable sort order of {@code [0, size)} under {@code comparator}, which compares two row indices.
+     */
+    static int[] order(int size, IntBinaryOperator comparator) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int from = 0; from < size; from += INSERTION_SORT_THRESHOLD) {
+            insertionSort(order, from, Math.min(from + INSERTION_SORT_THRESHOLD, size), comparator);
+        }
+        int[] buffer = new int[size];
+        for (int width = INSERTION_SORT_THRESHOLD; width < size; width <<= 1) {
+            for (int from = 0; from < size; from += width << 1) {
+                final int middle = Math.min(from + width, size);
+                final int to = Math.min(from + (width << 1), size);
+                merge(order, buffer, from, middle, to, comparator);
+            }
+            final int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    private static void insertionSort(int[] order, int from, int to, IntBinaryOperator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            final int row = order[i];
+            int j = i - 1;
+            while (j >= from && comparator.applyAsInt(order[j], row) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = row;
+        }
+    }
+
+    private static void merge(int[] source, int[] target, int from, int middle, int to, IntBinaryOperator comparator) {
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (left < middle && (right >= to || comparator.applyAsInt(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    static Object[] permute(Object[] column, int[] order) {
+        final Object[] permuted = new Object[column.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = column[order[i]];
+        }
+        return permuted;
+    }
+
+    static int[] permute(int[] column, int[] order) {
+        final int[] permuted = new int[column.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = column[order[i]];
+        }
+        return permuted;
+    }
+
+    static long[] permute(long[] column, int[] order) {
+        final long[] permuted = new long[column.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = column[order[i]];
+        }
+        return permuted;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe {@link First} accumulator for many producers.
+ * <p>
+ * The winner is the candidate whose compare-and-set succeeds first; that CAS is the linearization point of
+ * the winning offer, and all other offers are linearized after it. Once settled, offers only perform a
+ * volatile read and never write again.
+ */
+public final class ConcurrentFirst<T> {
+
+    private final AtomicReference<T> value = new AtomicReference<>();
+
+    public boolean isEmpty() {
+        return value.get() == null;
+    }
+
+    public boolean offerNullable(@Nullable T candidate) {
+        return candidate != null && value.get() == null && value.compareAndSet(null, candidate);
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    @Contract("null->fail")
+    public boolean offer(@NotNull @NonNull Optional<T> candidate) {
+        return offerNullable(candidate.orElse(null));
+    }
+
+    @Contract("null->fail")
+    public boolean offer(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
+        return value.get() == null && offerNullable(candidate.get().orElse(null));
+    }
+
+    @NotNull
+    public First<T> toFirst() {
+        final T current = value.get();
+        return First.of(current);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe {@link Last} accumulator for many producers.
+ * <p>
+ * Each offer takes a number from a shared sequence and then publishes itself to a per-thread stripe,
+ * unless that stripe already holds a higher number. Reads merge the stripes by taking the highest number.
+ * <p>
+ * Once an offer has returned, every later read sees it or an offer with a higher sequence number. An offer
+ * that has taken its number but not yet published is not seen, so reads concurrent with offers are not
+ * linearizable. The value kept is the offer with the highest sequence number, which is not necessarily the
+ * one that published last.
+ * <p>
+ * Every offer still increments the one shared {@link AtomicLong}, so striping spreads the publication but
+ * does not remove that contended cache line.
+ */
+public final class ConcurrentLast<T> {
+
+    private static final int PADDING = 16;
+    private static final int DEFAULT_STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1) << 1;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicReferenceArray<Cell<T>> cells;
+    private final int mask;
+
+    public ConcurrentLast() {
+        this(DEFAULT_STRIPES);
+    }
+
+    ConcurrentLast(int stripes) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a positive power of two: " + stripes);
+        }
+        this.cells = new AtomicReferenceArray<>(stripes * PADDING);
+        this.mask = stripes - 1;
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            if (cells.get(i) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void offerNullable(@Nullable T candidate) {
+        if (candidate == null) {
+            return;
+        }
+        final Cell<T> cell = new Cell<>(sequence.incrementAndGet(), candidate);
+        final int index = stripe() * PADDING;
+        Cell<T> current;
+        do {
+            current = cells.get(index);
+            if (current != null && current.sequence > cell.sequence) {
+                return;
+            }
+        } while (!cells.compareAndSet(index, current, cell));
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    @Contract("null->fail")
+    public void offer(@NotNull @NonNull Optional<T> candidate) {
+        offerNullable(candidate.orElse(null));
+    }
+
+    @Contract("null->fail")
+    public void offer(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
+        offerNullable(candidate.get().orElse(null));
+    }
+
+    @NotNull
+    public Last<T> toLast() {
+        Cell<T> latest = null;
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            final Cell<T> cell = cells.get(i);
+            if (cell != null && (latest == null || cell.sequence > latest.sequence)) {
+                latest = cell;
+            }
+        }
+        return latest == null ? Last.empty() : Last.of(latest.value);
+    }
+
+    private int stripe() {
+        final long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static final class Cell<T> {
+        private final long sequence;
+        private final T value;
+
+        private Cell(long sequence, T value) {
+            this.sequence = sequence;
+            this.value = value;
+        }
+    }
+}
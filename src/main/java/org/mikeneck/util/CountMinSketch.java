@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Count-Min frequency sketch of {@code depth} rows of {@code width} counters.
+ * {@link #estimate} never under-counts, and over-counts by at most {@link #errorBound()} with probability
+ * {@code 1 - e^-depth}. {@link #add} updates the sketch in place; {@link #append} returns a new sketch counting
+ * both inputs.
+ */
+public final class CountMinSketch implements Monoid<Long, CountMinSketch> {
+
+    private final int width;
+    private final int depth;
+    private final long[] counts;
+    private long total;
+
+    CountMinSketch(int width, int depth, long[] counts, long total) {
+        this.width = width;
+        this.depth = depth;
+        this.counts = counts;
+        this.total = total;
+    }
+
+    @NotNull
+    public static CountMinSketch of(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("width and depth must be positive: " + width + ", " + depth);
+        }
+        if ((long) width * depth > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("sketch too large: " + width + " x " + depth);
+        }
+        return new CountMinSketch(width, depth, new long[width * depth], 0L);
+    }
+
+    /**
+     * Sizes a sketch whose over-count is at most {@code epsilon * total} with probability {@code 1 - delta}.
+     */
+    @NotNull
+    public static CountMinSketch withError(double epsilon, double delta) {
+        if (!(epsilon > 0.0 && epsilon < 1.0) || !(delta > 0.0 && delta < 1.0)) {
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1): " + epsilon + ", " + delta);
+        }
+        return of((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1.0 / delta)));
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    long[] counts() {
+        return counts;
+    }
+
+    @Contract("null->fail")
+    public void add(@NotNull @NonNull Object item) {
+        addHash(Hashing.hash64(item), 1L);
+    }
+
+    @Contract("null,_->fail")
+    public void add(@NotNull @NonNull Object item, long count) {
+        addHash(Hashing.hash64(item), count);
+    }
+
+    public void addHash(long hash, long count) {
+        if (count < 0L) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counts[row * width + column(h1, h2, row)] += count;
+        }
+        total += count;
+    }
+
+    @Contract("null->fail")
+    public long estimate(@NotNull @NonNull Object item) {
+        return estimateHash(Hashing.hash64(item));
+    }
+
+    public long estimateHash(long hash) {
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + column(h1, h2, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Over-count bound {@code ceil(e / width * total)}, exceeded with probability at most {@code e^-depth}.
+     */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / width * total);
+    }
+
+    @NotNull
+    @Override
+    public CountMinSketch append(@NotNull @NonNull CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("dimensions differ: " + width + "x" + depth + " and " + other.width + "x" + other.depth);
+        }
+        final long[] merged = counts.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new CountMinSketch(width, depth, merged, total + other.total);
+    }
+
+    private int column(int h1, int h2, int row) {
+        return Math.floorMod(h1 + row * h2, width);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Folds the most recent {@code capacity} values of a monoid in amortized O(1) per value.
+ */
+public final class CountWindow<M extends Monoid<?, M>> {
+
+    private final int capacity;
+    private final TwoStacks<M> stacks;
+
+    private CountWindow(int capacity, M identity) {
+        this.capacity = capacity;
+        this.stacks = new TwoStacks<>(identity);
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public static <M extends Monoid<?, M>> CountWindow<M> of(int capacity, @NotNull @NonNull M identity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        return new CountWindow<>(capacity, identity);
+    }
+
+    @Contract("null->fail")
+    public void push(@NotNull @NonNull M value) {
+        if (stacks.size() == capacity) {
+            stacks.evict();
+        }
+        stacks.push(0L, value);
+    }
+
+    @NotNull
+    public M fold() {
+        return stacks.fold();
+    }
+
+    public int size() {
+        return stacks.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        stacks.clear();
+    }
+}
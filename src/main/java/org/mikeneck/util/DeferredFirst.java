@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+final class DeferredFirst<S, T> implements First<T> {
+
+    /**
+     * Guarded by {@code this}, and cleared once {@link #forced} is set so the source and the fused chain can be
+     * collected.
+     */
+    private First<S> source;
+    private Function<? super S, ? extends T> function;
+    private volatile First<T> forced;
+
+    DeferredFirst(@NotNull First<S> source, @NotNull Function<? super S, ? extends T> function) {
+        this.source = source;
+        this.function = function;
+    }
+
+    private First<T> force() {
+        First<T> result = forced;
+        if (result == null) {
+            synchronized (this) {
+                result = forced;
+                if (result == null) {
+                    final S value = source.or(() -> null);
+                    result = value == null ? First.empty() : First.of(function.apply(value));
+                    forced = result;
+                    source = null;
+                    function = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public First<T> append(@NotNull @NonNull First<T> other) {
+        return force().append(other);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return force().isEmpty();
+    }
+
+    @NotNull
+    @Override
+    public <R> First<R> map(@NotNull @NonNull Function<? super T, ? extends R> function) {
+        First<T> result = forced;
+        if (result == null) {
+            synchronized (this) {
+                result = forced;
+                if (result == null) {
+                    return new DeferredFirst<S, R>(source, this.function.andThen(function));
+                }
+            }
+        }
+        return new DeferredFirst<>(result, function);
+    }
+
+    @Override
+    public T or(@NotNull @NonNull Supplier<? extends T> candidate) {
+        return force().or(candidate);
+    }
+
+    @NotNull
+    @Override
+    public First<T> append(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
+        return force().append(candidate);
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    @NotNull
+    @Override
+    public First<T> append(@NotNull @NonNull Optional<T> candidate) {
+        return force().append(candidate);
+    }
+}
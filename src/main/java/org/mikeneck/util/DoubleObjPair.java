@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+
+@Data
+public class DoubleObjPair<R> {
+
+    private final double left;
+    private final R right;
+
+    public DoubleObjPair(double left, @NotNull @NonNull R right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> DoubleObjPair<N> map(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        return new DoubleObjPair<>(left, function.apply(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> DoubleObjPair<N> bimap(@NotNull @NonNull DoubleObjFunction<? super R, ? extends N> function) {
+        return new DoubleObjPair<>(left, function.apply(left, right));
+    }
+
+    @NotNull
+    public ObjDoublePair<R> reverse() {
+        return new ObjDoublePair<>(right, left);
+    }
+
+    @NotNull
+    public Pair<Double, R> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @FunctionalInterface
+    public interface DoubleObjFunction<R, N> {
+        N apply(double left, R right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R> DoubleObjPair<R> of(@NotNull @NonNull Pair<Double, R> pair) {
+        return new DoubleObjPair<>(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R> DoubleFunction<DoubleObjPair<R>> mkPair(@NotNull @NonNull DoubleFunction<? extends R> function) {
+        //noinspection Contract
+        return d -> new DoubleObjPair<>(d, function.apply(d));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R, N> Function<DoubleObjPair<R>, DoubleObjPair<N>> mapPair(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        //noinspection Contract
+        return p -> new DoubleObjPair<>(p.left, function.apply(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R, N> Function<DoubleObjPair<R>, DoubleObjPair<N>> bimapPair(@NotNull @NonNull DoubleObjFunction<? super R, ? extends N> function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.UnaryOperator;
+
+@Data
+public class DoublePair {
+
+    private final double left;
+    private final double right;
+
+    public DoublePair(double left, double right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public DoublePair map(@NotNull @NonNull DoubleUnaryOperator function) {
+        return new DoublePair(left, function.applyAsDouble(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public DoublePair bimap(@NotNull @NonNull DoubleBinaryOperator function) {
+        return new DoublePair(left, function.applyAsDouble(left, right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> DoubleObjPair<N> mapToObj(@NotNull @NonNull DoubleFunction<? extends N> function) {
+        return new DoubleObjPair<>(left, function.apply(right));
+    }
+
+    @NotNull
+    public DoublePair reverse() {
+        return new DoublePair(right, left);
+    }
+
+    @NotNull
+    public Pair<Double, Double> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static DoublePair of(@NotNull @NonNull Pair<Double, Double> pair) {
+        return new DoublePair(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static DoubleFunction<DoublePair> mkPair(@NotNull @NonNull DoubleUnaryOperator function) {
+        //noinspection Contract
+        return l -> new DoublePair(l, function.applyAsDouble(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static UnaryOperator<DoublePair> mapPair(@NotNull @NonNull DoubleUnaryOperator function) {
+        //noinspection Contract
+        return p -> new DoublePair(p.left, function.applyAsDouble(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static UnaryOperator<DoublePair> bimapPair(@NotNull @NonNull DoubleBinaryOperator function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
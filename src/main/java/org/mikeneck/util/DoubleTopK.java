@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * {@link TopK} specialized for {@code double} scores, kept unboxed. {@code NaN} scores are rejected.
+ */
+public final class DoubleTopK<T> extends BoundedHeap<T> implements Monoid<ObjDoublePair<T>, DoubleTopK<T>> {
+
+    private final boolean largest;
+    private double[] scores;
+
+    private DoubleTopK(int k, boolean largest, Comparator<? super T> tieBreak) {
+        super(k, tieBreak);
+        this.largest = largest;
+        this.scores = new double[items.length];
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public static <T> DoubleTopK<T> largest(int k, @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return new DoubleTopK<>(k, true, tieBreak);
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public static <T> DoubleTopK<T> smallest(int k, @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return new DoubleTopK<>(k, false, tieBreak);
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>> DoubleTopK<T> largest(int k) {
+        return largest(k, Comparator.naturalOrder());
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>> DoubleTopK<T> smallest(int k) {
+        return smallest(k, Comparator.naturalOrder());
+    }
+
+    @Contract("null,_->fail")
+    public void add(@NotNull @NonNull T item, double score) {
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("NaN cannot be ranked");
+        }
+        final int slot;
+        if (size < k) {
+            slot = push();
+        } else if (beatsRoot(item, rank(score, scores[0]))) {
+            slot = 0;
+        } else {
+            return;
+        }
+        items[slot] = item;
+        scores[slot] = score;
+        placed(slot);
+    }
+
+    /**
+     * Calls {@code consumer} with the retained items, best first.
+     */
+    @Contract("null->fail")
+    public void forEach(@NotNull @NonNull ObjDoubleConsumer<? super T> consumer) {
+        for (int index : order()) {
+            consumer.accept(item(index), scores[index]);
+        }
+    }
+
+    /**
+     * Returns the retained items, best first.
+     */
+    @NotNull
+    public List<ObjDoublePair<T>> toList() {
+        final List<ObjDoublePair<T>> list = new ArrayList<>(size);
+        forEach((item, score) -> list.add(new ObjDoublePair<>(item, score)));
+        return list;
+    }
+
+    @NotNull
+    @Override
+    public DoubleTopK<T> append(@NotNull @NonNull DoubleTopK<T> other) {
+        final DoubleTopK<T> merged = new DoubleTopK<>(k, largest, tieBreak);
+        merged.addAll(this);
+        merged.addAll(other);
+        return merged;
+    }
+
+    private void addAll(DoubleTopK<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.item(i), other.scores[i]);
+        }
+    }
+
+    private int rank(double a, double b) {
+        return largest ? Double.compare(a, b) : Double.compare(b, a);
+    }
+
+    @Override
+    int compareScores(int a, int b) {
+        return rank(scores[a], scores[b]);
+    }
+
+    @Override
+    void swapScores(int a, int b) {
+        final double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    @Override
+    void growScores(int capacity) {
+        scores = Arrays.copyOf(scores, capacity);
+    }
+}
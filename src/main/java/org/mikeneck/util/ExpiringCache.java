@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * LRU cache with per-entry expiry, striped by key hash so that concurrent resolvers rarely contend on one lock.
+ * Each stripe evicts its own least recently used entry, which approximates a global LRU; small caches use one stripe.
+ */
+final class ExpiringCache<K, V> {
+
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_STRIPE_SIZE = 64;
+
+    private final CachePolicy policy;
+    private final Stripe<K, V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    ExpiringCache(CachePolicy policy) {
+        this.policy = policy;
+        final int maximumSize = policy.getMaximumSize();
+        final int count = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, maximumSize / MIN_STRIPE_SIZE)));
+        this.stripes = (Stripe<K, V>[]) new Stripe<?, ?>[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns the cached result, an empty {@link Optional} for a cached miss, or {@code null} when nothing is cached.
+     */
+    Optional<V> get(K key) {
+        return stripe(key).get(key, policy.getNanoClock().getAsLong());
+    }
+
+    void put(K key, Optional<V> value) {
+        final long ttl = value.isPresent() ? policy.getTtlNanos() : policy.getNegativeTtlNanos();
+        if (ttl > 0L) {
+            stripe(key).put(key, new Expiring<>(value, policy.getNanoClock().getAsLong() + ttl));
+        }
+    }
+
+    void invalidate(K key) {
+        stripe(key).remove(key);
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private Stripe<K, V> stripe(K key) {
+        final int h = key.hashCode() * 0x9e3779b9;
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe<K, V> {
+        private final LinkedHashMap<K, Expiring<V>> entries;
+
+        private Stripe(int capacity) {
+            this.entries = new LinkedHashMap<K, Expiring<V>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Expiring<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Optional<V> get(K key, long now) {
+            final Expiring<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAt >= 0L) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(K key, Expiring<V> entry) {
+            entries.put(key, entry);
+        }
+
+        synchronized void remove(K key) {
+            entries.remove(key);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class Expiring<V> {
+        private final Optional<V> value;
+        private final long expiresAt;
+
+        private Expiring(Optional<V> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.jetbrains.annotations.NotNull;
+
+@FunctionalInterface
+public interface FallbackListener {
+
+    /**
+     * Called after an instrumented candidate has been evaluated.
+     * {@code position} is {@link FallbackMetrics#DEFAULT_POSITION} for the supplier passed to {@code or}.
+     */
+    void onEvaluation(@NotNull String chain, int position, boolean hit, long nanos);
+}
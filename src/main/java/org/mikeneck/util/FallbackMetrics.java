@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-chain, per-position counters and latency histograms for the suppliers passed to
+ * {@code First.append(Supplier)}, {@code Last.append(Supplier)} and {@code or(Supplier)}.
+ * <p>
+ * Instrumentation is switched on with {@code -Dorg.mikeneck.util.fallback-metrics=true}.
+ * When it is off, {@link #tier(int, Supplier)} and {@link #fallback(Supplier)} return their argument unchanged.
+ */
+public final class FallbackMetrics {
+
+    public static final String PROPERTY = "org.mikeneck.util.fallback-metrics";
+    public static final int DEFAULT_POSITION = -1;
+
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    private static final ConcurrentMap<String, FallbackMetrics> CHAINS = new ConcurrentHashMap<>();
+    private static final List<FallbackListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final boolean enabled;
+    private final Tier fallback = new Tier();
+    private volatile Tier[] tiers = new Tier[0];
+
+    private FallbackMetrics(String name, boolean enabled) {
+        this.name = name;
+        this.enabled = enabled;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static FallbackMetrics chain(@NotNull @NonNull String name) {
+        return CHAINS.computeIfAbsent(name, n -> new FallbackMetrics(n, ENABLED));
+    }
+
+    @NotNull
+    static FallbackMetrics create(@NotNull String name, boolean enabled) {
+        return new FallbackMetrics(name, enabled);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @NotNull
+    public static Map<String, FallbackMetrics> chains() {
+        return Collections.unmodifiableMap(new TreeMap<>(CHAINS));
+    }
+
+    @Contract("null->fail")
+    public static void addListener(@NotNull @NonNull FallbackListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    @Contract("null->fail")
+    public static void removeListener(@NotNull @NonNull FallbackListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public <T> Supplier<? extends Optional<T>> tier(int position, @NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
+        if (!enabled) {
+            return candidate;
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("position must not be negative: " + position);
+        }
+        final Tier tier = tierAt(position);
+        return () -> {
+            final long start = System.nanoTime();
+            boolean hit = false;
+            try {
+                final Optional<T> result = candidate.get();
+                hit = result.isPresent();
+                return result;
+            } finally {
+                record(tier, position, hit, System.nanoTime() - start);
+            }
+        };
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <T> Supplier<? extends T> fallback(@NotNull @NonNull Supplier<? extends T> candidate) {
+        if (!enabled) {
+            return candidate;
+        }
+        return () -> {
+            final long start = System.nanoTime();
+            try {
+                return candidate.get();
+            } finally {
+                record(fallback, DEFAULT_POSITION, true, System.nanoTime() - start);
+            }
+        };
+    }
+
+    @NotNull
+    public TierStatistics statistics(int position) {
+        if (position == DEFAULT_POSITION) {
+            return fallback.snapshot();
+        }
+        final Tier[] tiers = this.tiers;
+        return position >= 0 && position < tiers.length && tiers[position] != null ? tiers[position].snapshot() : TierStatistics.EMPTY;
+    }
+
+    public int positions() {
+        return tiers.length;
+    }
+
+    private void record(Tier tier, int position, boolean hit, long nanos) {
+        tier.record(hit, nanos);
+        for (FallbackListener listener : LISTENERS) {
+            listener.onEvaluation(name, position, hit, nanos);
+        }
+    }
+
+    private Tier tierAt(int position) {
+        final Tier[] tiers = this.tiers;
+        if (position < tiers.length && tiers[position] != null) {
+            return tiers[position];
+        }
+        synchronized (this) {
+            Tier[] current = this.tiers;
+            if (position >= current.length) {
+                current = Arrays.copyOf(current, position + 1);
+            }
+            if (current[position] == null) {
+                current[position] = new Tier();
+            }
+            this.tiers = current;
+            return current[position];
+        }
+    }
+
+    private static final class Tier {
+
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(TierStatistics.BUCKETS);
+
+        private void record(boolean hit, long nanos) {
+            evaluations.increment();
+            if (hit) {
+                hits.increment();
+            }
+            totalNanos.add(nanos);
+            histogram.incrementAndGet(TierStatistics.bucketOf(nanos));
+        }
+
+        private TierStatistics snapshot() {
+            final long[] buckets = new long[TierStatistics.BUCKETS];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = histogram.get(i);
+            }
+            return new TierStatistics(evaluations.sum(), hits.sum(), totalNanos.sum(), buckets);
+        }
+    }
+}
@@ -49,20 +49,39 @@ public interface First<T> extends Monoid<T, First<T>> {
     @Contract("null->fail")
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     static <T> First<T> of(@NotNull @NonNull Optional<T> candidate) {
-        return candidate.<First<T>>map(Already::new)
-                .orElseGet(Already.Empty::new);
+        return candidate.isPresent() ? new Already<>(candidate.get()) : empty();
     }
 
     @NotNull
     @Contract("null->!null;_->!null")
     static <T> First<T> of(@Nullable T nullable) {
-        return of(Optional.ofNullable(nullable));
+        return nullable == null ? empty() : new Already<>(nullable);
     }
 
     @NotNull
     @Contract(" -> !null")
+    @SuppressWarnings("unchecked")
     static <T> First<T> empty() {
-        return new Already.Empty<>();
+        return (First<T>) Already.Empty.INSTANCE;
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static <T> FirstAccumulator<T> accumulator() {
+        return new FirstAccumulator<>();
+    }
+
+    /**
+     * Returns a view of {@code first} whose {@code map} calls are fused and run at most once,
+     * when {@code isEmpty}, {@code or} or {@code append} first needs the result. A mapped {@code null} is empty.
+     */
+    @NotNull
+    @Contract("null->fail")
+    static <T> First<T> deferred(@NotNull @NonNull First<T> first) {
+        if (first instanceof DeferredFirst || first.isEmpty()) {
+            return first;
+        }
+        return new DeferredFirst<T, T>(first, Function.identity());
     }
 }
 
@@ -114,6 +133,11 @@ class Already<T> implements First<T> {
     }
 
     static class Empty<T> implements First<T> {
+
+        static final Empty<Object> INSTANCE = new Empty<>();
+
+        private Empty() {
+        }
     
         @Override
         public @NotNull First<T> append(@NotNull @NonNull First<T> other) {
@@ -129,7 +153,7 @@ class Already<T> implements First<T> {
         @NotNull
         @Override
         public <R> First<R> map(@NotNull @NonNull Function<? super T, ? extends R> function) {
-            return new Empty<>();
+            return First.empty();
         }
     
         @NotNull
@@ -141,17 +165,14 @@ class Already<T> implements First<T> {
         @NotNull
         @Override
         public First<T> append(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
-            return candidate.get()
-                    .<First<T>>map(Already::new)
-                    .orElse(this);
+            return append(candidate.get());
         }
     
         @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
         @NotNull
         @Override
         public First<T> append(@NotNull @NonNull Optional<T> candidate) {
-            return candidate.<First<T>>map(Already::new)
-                    .orElse(this);
+            return candidate.isPresent() ? new Already<>(candidate.get()) : this;
         }
     }
 }
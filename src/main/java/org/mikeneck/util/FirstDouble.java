@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalDouble;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+public interface FirstDouble extends Monoid<Double, FirstDouble> {
+
+    boolean isEmpty();
+
+    @NotNull
+    @Contract("null->fail")
+    FirstDouble map(@NotNull DoubleUnaryOperator function);
+
+    @Contract("null->fail")
+    double or(@NotNull DoubleSupplier candidate);
+
+    double orElse(double other);
+
+    @NotNull
+    FirstDouble append(double candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    FirstDouble append(@NotNull OptionalDouble candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    FirstDouble append(@NotNull Supplier<? extends OptionalDouble> candidate);
+
+    @NotNull
+    OptionalDouble toOptional();
+
+    @NotNull
+    First<Double> boxed();
+
+    @NotNull
+    static FirstDouble of(double value) {
+        return new AlreadyDouble(value);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    static FirstDouble of(@NotNull @NonNull OptionalDouble candidate) {
+        return candidate.isPresent() ? new AlreadyDouble(candidate.getAsDouble()) : empty();
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static FirstDouble empty() {
+        return AlreadyDouble.Empty.INSTANCE;
+    }
+}
+
+class AlreadyDouble implements FirstDouble {
+
+    private final double value;
+
+    AlreadyDouble(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public @NotNull FirstDouble append(@NotNull @NonNull FirstDouble other) {
+        //noinspection Contract
+        return this;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public FirstDouble map(@NotNull @NonNull DoubleUnaryOperator function) {
+        return new AlreadyDouble(function.applyAsDouble(value));
+    }
+
+    @Override
+    public double or(@NotNull @NonNull DoubleSupplier candidate) {
+        return value;
+    }
+
+    @Override
+    public double orElse(double other) {
+        return value;
+    }
+
+    @NotNull
+    @Override
+    public FirstDouble append(double candidate) {
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public FirstDouble append(@NotNull @NonNull OptionalDouble candidate) {
+        //noinspection Contract
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public FirstDouble append(@NotNull @NonNull Supplier<? extends OptionalDouble> candidate) {
+        //noinspection Contract
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public OptionalDouble toOptional() {
+        return OptionalDouble.of(value);
+    }
+
+    @NotNull
+    @Override
+    public First<Double> boxed() {
+        return First.of(value);
+    }
+
+    static class Empty implements FirstDouble {
+
+        static final Empty INSTANCE = new Empty();
+
+        private Empty() {
+        }
+
+        @Override
+        public @NotNull FirstDouble append(@NotNull @NonNull FirstDouble other) {
+            //noinspection Contract
+            return other;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public FirstDouble map(@NotNull @NonNull DoubleUnaryOperator function) {
+            return this;
+        }
+
+        @Override
+        public double or(@NotNull @NonNull DoubleSupplier candidate) {
+            return candidate.getAsDouble();
+        }
+
+        @Override
+        public double orElse(double other) {
+            return other;
+        }
+
+        @NotNull
+        @Override
+        public FirstDouble append(double candidate) {
+            return new AlreadyDouble(candidate);
+        }
+
+        @NotNull
+        @Override
+        public FirstDouble append(@NotNull @NonNull OptionalDouble candidate) {
+            return candidate.isPresent() ? new AlreadyDouble(candidate.getAsDouble()) : this;
+        }
+
+        @NotNull
+        @Override
+        public FirstDouble append(@NotNull @NonNull Supplier<? extends OptionalDouble> candidate) {
+            return append(candidate.get());
+        }
+
+        @NotNull
+        @Override
+        public OptionalDouble toOptional() {
+            return OptionalDouble.empty();
+        }
+
+        @NotNull
+        @Override
+        public First<Double> boxed() {
+            return First.empty();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalInt;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+public interface FirstInt extends Monoid<Integer, FirstInt> {
+
+    boolean isEmpty();
+
+    @NotNull
+    @Contract("null->fail")
+    FirstInt map(@NotNull IntUnaryOperator function);
+
+    @Contract("null->fail")
+    int or(@NotNull IntSupplier candidate);
+
+    int orElse(int other);
+
+    @NotNull
+    FirstInt append(int candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    FirstInt append(@NotNull OptionalInt candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    FirstInt append(@NotNull Supplier<? extends OptionalInt> candidate);
+
+    @NotNull
+    OptionalInt toOptional();
+
+    @NotNull
+    First<Integer> boxed();
+
+    @NotNull
+    static FirstInt of(int value) {
+        return new AlreadyInt(value);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    static FirstInt of(@NotNull @NonNull OptionalInt candidate) {
+        return candidate.isPresent() ? new AlreadyInt(candidate.getAsInt()) : empty();
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static FirstInt empty() {
+        return AlreadyInt.Empty.INSTANCE;
+    }
+}
+
+class AlreadyInt implements FirstInt {
+
+    private final int value;
+
+    AlreadyInt(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public @NotNull FirstInt append(@NotNull @NonNull FirstInt other) {
+        //noinspection Contract
+        return this;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public FirstInt map(@NotNull @NonNull IntUnaryOperator function) {
+        return new AlreadyInt(function.applyAsInt(value));
+    }
+
+    @Override
+    public int or(@NotNull @NonNull IntSupplier candidate) {
+        return value;
+    }
+
+    @Override
+    public int orElse(int other) {
+        return value;
+    }
+
+    @NotNull
+    @Override
+    public FirstInt append(int candidate) {
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public FirstInt append(@NotNull @NonNull OptionalInt candidate) {
+        //noinspection Contract
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public FirstInt append(@NotNull @NonNull Supplier<? extends OptionalInt> candidate) {
+        //noinspection Contract
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public OptionalInt toOptional() {
+        return OptionalInt.of(value);
+    }
+
+    @NotNull
+    @Override
+    public First<Integer> boxed() {
+        return First.of(value);
+    }
+
+    static class Empty implements FirstInt {
+
+        static final Empty INSTANCE = new Empty();
+
+        private Empty() {
+        }
+
+        @Override
+        public @NotNull FirstInt append(@NotNull @NonNull FirstInt other) {
+            //noinspection Contract
+            return other;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public FirstInt map(@NotNull @NonNull IntUnaryOperator function) {
+            return this;
+        }
+
+        @Override
+        public int or(@NotNull @NonNull IntSupplier candidate) {
+            return candidate.getAsInt();
+        }
+
+        @Override
+        public int orElse(int other) {
+            return other;
+        }
+
+        @NotNull
+        @Override
+        public FirstInt append(int candidate) {
+            return new AlreadyInt(candidate);
+        }
+
+        @NotNull
+        @Override
+        public FirstInt append(@NotNull @NonNull OptionalInt candidate) {
+            return candidate.isPresent() ? new AlreadyInt(candidate.getAsInt()) : this;
+        }
+
+        @NotNull
+        @Override
+        public FirstInt append(@NotNull @NonNull Supplier<? extends OptionalInt> candidate) {
+            return append(candidate.get());
+        }
+
+        @NotNull
+        @Override
+        public OptionalInt toOptional() {
+            return OptionalInt.empty();
+        }
+
+        @NotNull
+        @Override
+        public First<Integer> boxed() {
+            return First.empty();
+        }
+    }
+}
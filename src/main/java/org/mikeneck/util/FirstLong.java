@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+public interface FirstLong extends Monoid<Long, FirstLong> {
+
+    boolean isEmpty();
+
+    @NotNull
+    @Contract("null->fail")
+    FirstLong map(@NotNull LongUnaryOperator function);
+
+    @Contract("null->fail")
+    long or(@NotNull LongSupplier candidate);
+
+    long orElse(long other);
+
+    @NotNull
+    FirstLong append(long candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    FirstLong append(@NotNull OptionalLong candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    FirstLong append(@NotNull Supplier<? extends OptionalLong> candidate);
+
+    @NotNull
+    OptionalLong toOptional();
+
+    @NotNull
+    First<Long> boxed();
+
+    @NotNull
+    static FirstLong of(long value) {
+        return new AlreadyLong(value);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    static FirstLong of(@NotNull @NonNull OptionalLong candidate) {
+        return candidate.isPresent() ? new AlreadyLong(candidate.getAsLong()) : empty();
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static FirstLong empty() {
+        return AlreadyLong.Empty.INSTANCE;
+    }
+}
+
+class AlreadyLong implements FirstLong {
+
+    private final long value;
+
+    AlreadyLong(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public @NotNull FirstLong append(@NotNull @NonNull FirstLong other) {
+        //noinspection Contract
+        return this;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public FirstLong map(@NotNull @NonNull LongUnaryOperator function) {
+        return new AlreadyLong(function.applyAsLong(value));
+    }
+
+    @Override
+    public long or(@NotNull @NonNull LongSupplier candidate) {
+        return value;
+    }
+
+    @Override
+    public long orElse(long other) {
+        return value;
+    }
+
+    @NotNull
+    @Override
+    public FirstLong append(long candidate) {
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public FirstLong append(@NotNull @NonNull OptionalLong candidate) {
+        //noinspection Contract
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public FirstLong append(@NotNull @NonNull Supplier<? extends OptionalLong> candidate) {
+        //noinspection Contract
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public OptionalLong toOptional() {
+        return OptionalLong.of(value);
+    }
+
+    @NotNull
+    @Override
+    public First<Long> boxed() {
+        return First.of(value);
+    }
+
+    static class Empty implements FirstLong {
+
+        static final Empty INSTANCE = new Empty();
+
+        private Empty() {
+        }
+
+        @Override
+        public @NotNull FirstLong append(@NotNull @NonNull FirstLong other) {
+            //noinspection Contract
+            return other;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public FirstLong map(@NotNull @NonNull LongUnaryOperator function) {
+            return this;
+        }
+
+        @Override
+        public long or(@NotNull @NonNull LongSupplier candidate) {
+            return candidate.getAsLong();
+        }
+
+        @Override
+        public long orElse(long other) {
+            return other;
+        }
+
+        @NotNull
+        @Override
+        public FirstLong append(long candidate) {
+            return new AlreadyLong(candidate);
+        }
+
+        @NotNull
+        @Override
+        public FirstLong append(@NotNull @NonNull OptionalLong candidate) {
+            return candidate.isPresent() ? new AlreadyLong(candidate.getAsLong()) : this;
+        }
+
+        @NotNull
+        @Override
+        public FirstLong append(@NotNull @NonNull Supplier<? extends OptionalLong> candidate) {
+            return append(candidate.get());
+        }
+
+        @NotNull
+        @Override
+        public OptionalLong toOptional() {
+            return OptionalLong.empty();
+        }
+
+        @NotNull
+        @Override
+        public First<Long> boxed() {
+            return First.empty();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Equi-join of two keyed streams, emitting results lazily.
+ * <p>
+ * The right stream is the build side and is hashed in memory; the left stream is probed against it.
+ * When the build side holds more rows than the memory budget, both sides are hash-partitioned into temporary
+ * files (Grace hash join) and joined one partition at a time, repartitioning a partition that is still too large.
+ * The join runs when a terminal operation starts. A parallel left stream is probed in parallel, or its partitions
+ * are joined in parallel once spilled. Close the returned stream to remove any remaining spill files.
+ * Rows whose key is {@code null} never match.
+ */
+public final class HashJoin<K, L, R> {
+
+    static final int DEFAULT_MEMORY_BUDGET = 1 << 20;
+    static final int DEFAULT_PARTITIONS = 16;
+    private static final int MAX_DEPTH = 4;
+
+    private final Function<? super L, ? extends K> leftKey;
+    private final Function<? super R, ? extends K> rightKey;
+    private final int memoryBudget;
+    private final int partitions;
+    private final SpillCodec<L> leftCodec;
+    private final SpillCodec<R> rightCodec;
+    private final Path spillDirectory;
+
+    private HashJoin(
+            Function<? super L, ? extends K> leftKey,
+            Function<? super R, ? extends K> rightKey,
+            int memoryBudget,
+            int partitions,
+            SpillCodec<L> leftCodec,
+            SpillCodec<R> rightCodec,
+            Path spillDirectory) {
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.memoryBudget = memoryBudget;
+        this.partitions = partitions;
+        this.leftCodec = leftCodec;
+        this.rightCodec = rightCodec;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <K, L, R> HashJoin<K, L, R> on(
+            @NotNull @NonNull Function<? super L, ? extends K> leftKey,
+            @NotNull @NonNull Function<? super R, ? extends K> rightKey) {
+        return new HashJoin<>(leftKey, rightKey, DEFAULT_MEMORY_BUDGET, DEFAULT_PARTITIONS,
+                SpillCodec.serialization(), SpillCodec.serialization(), null);
+    }
+
+    /**
+     * Sets the number of build rows held in memory before the join spills.
+     * The budget counts rows, not bytes, so size it from the expected footprint of a build row.
+     */
+    @NotNull
+    public HashJoin<K, L, R> withMemoryBudget(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("memory budget must be positive: " + rows);
+        }
+        return new HashJoin<>(leftKey, rightKey, rows, partitions, leftCodec, rightCodec, spillDirectory);
+    }
+
+    @NotNull
+    public HashJoin<K, L, R> withPartitions(int partitions) {
+        if (partitions < 2) {
+            throw new IllegalArgumentException("partitions must be at least 2: " + partitions);
+        }
+        return new HashJoin<>(leftKey, rightKey, memoryBudget, partitions, leftCodec, rightCodec, spillDirectory);
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public HashJoin<K, L, R> withSpillCodecs(@NotNull @NonNull SpillCodec<L> leftCodec, @NotNull @NonNull SpillCodec<R> rightCodec) {
+        return new HashJoin<>(leftKey, rightKey, memoryBudget, partitions, leftCodec, rightCodec, spillDirectory);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public HashJoin<K, L, R> withSpillDirectory(@NotNull @NonNull Path directory) {
+        return new HashJoin<>(leftKey, rightKey, memoryBudget, partitions, leftCodec, rightCodec, directory);
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public Stream<Pair<L, R>> inner(@NotNull @NonNull Stream<L> left, @NotNull @NonNull Stream<R> right) {
+        return join(left, right, (l, matches) -> matches.stream().map(r -> new Pair<>(l, r)));
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public Stream<Pair<L, Optional<R>>> leftOuter(@NotNull @NonNull Stream<L> left, @NotNull @NonNull Stream<R> right) {
+        return join(left, right, (l, matches) -> matches.isEmpty()
+                ? Stream.of(new Pair<>(l, Optional.<R>empty()))
+                : matches.stream().map(r -> new Pair<>(l, Optional.of(r))));
+    }
+
+    /**
+     * Returns the left rows that have no match on the right.
+     */
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public Stream<L> anti(@NotNull @NonNull Stream<L> left, @NotNull @NonNull Stream<R> right) {
+        return join(left, right, (l, matches) -> matches.isEmpty() ? Stream.of(l) : Stream.empty());
+    }
+
+    private <O> Stream<O> join(Stream<L> left, Stream<R> right, Matcher<L, R, O> matcher) {
+        final Execution<O> execution = new Execution<>(left, right, matcher);
+        return StreamSupport.stream(execution::run, 0, left.isParallel())
+                .onClose(execution::close);
+    }
+
+    @FunctionalInterface
+    private interface Matcher<L, R, O> {
+        Stream<O> match(L left, List<R> matches);
+    }
+
+    private final class Execution<O> {
+
+        private final Stream<L> left;
+        private final Stream<R> right;
+        private final Matcher<L, R, O> matcher;
+        private final boolean parallel;
+        private Path directory;
+
+        private Execution(Stream<L> left, Stream<R> right, Matcher<L, R, O> matcher) {
+            this.left = left;
+            this.right = right;
+            this.matcher = matcher;
+            this.parallel = left.isParallel();
+        }
+
+        private Spliterator<O> run() {
+            final Map<K, List<R>> table = new HashMap<>();
+            final Iterator<R> rows = right.iterator();
+            int count = 0;
+            while (rows.hasNext()) {
+                final R row = rows.next();
+                final K key = rightKey.apply(row);
+                if (key == null) {
+                    continue;
+                }
+                if (count == memoryBudget) {
+                    return spill(table, row, rows).spliterator();
+                }
+                add(table, key, row);
+                count++;
+            }
+            return probe(left, table).spliterator();
+        }
+
+        private Stream<O> probe(Stream<L> rows, Map<K, List<R>> table) {
+            return rows.flatMap(row -> {
+                final K key = leftKey.apply(row);
+                final List<R> matches = key == null ? null : table.get(key);
+                return matcher.match(row, matches == null ? Collections.emptyList() : matches);
+            });
+        }
+
+        private Stream<O> spill(Map<K, List<R>> table, R pending, Iterator<R> rows) {
+            final SpillPartitions<R> build = new SpillPartitions<>(directory(), "build", partitions, rightCodec);
+            build.fill(() -> {
+                table.forEach((key, matches) -> matches.forEach(row -> build.write(partitionOf(key, 0), row)));
+                table.clear();
+                build.write(partitionOf(rightKey.apply(pending), 0), pending);
+                while (rows.hasNext()) {
+                    final R row = rows.next();
+                    final K key = rightKey.apply(row);
+                    if (key != null) {
+                        build.write(partitionOf(key, 0), row);
+                    }
+                }
+            });
+            final SpillPartitions<L> probe = new SpillPartitions<>(directory(), "probe", partitions, leftCodec);
+            try {
+                probe.fill(() -> left.iterator().forEachRemaining(row -> probe.write(partitionOf(leftKey.apply(row), 0), row)));
+            } catch (RuntimeException | Error e) {
+                build.abort();
+                throw e;
+            }
+            return joinPartitions(build, probe, 0);
+        }
+
+        private Stream<O> joinPartitions(SpillPartitions<R> build, SpillPartitions<L> probe, int depth) {
+            final Stream<Integer> ids = IntStream.range(0, build.size()).boxed();
+            return (parallel ? ids.parallel() : ids)
+                    .flatMap(partition -> joinPartition(build, probe, partition, depth));
+        }
+
+        private Stream<O> joinPartition(SpillPartitions<R> build, SpillPartitions<L> probe, int partition, int depth) {
+            if (build.count(partition) > memoryBudget && depth < MAX_DEPTH) {
+                final SpillPartitions<R> subBuild = repartition(build, partition, rightKey, rightCodec, "build", depth + 1);
+                final SpillPartitions<L> subProbe = repartition(probe, partition, leftKey, leftCodec, "probe", depth + 1);
+                return joinPartitions(subBuild, subProbe, depth + 1);
+            }
+            final Map<K, List<R>> table = new HashMap<>();
+            try (Stream<R> rows = build.read(partition)) {
+                rows.forEach(row -> add(table, rightKey.apply(row), row));
+            }
+            return probe(probe.read(partition), table);
+        }
+
+        private <T> SpillPartitions<T> repartition(
+                SpillPartitions<T> source,
+                int partition,
+                Function<? super T, ? extends K> key,
+                SpillCodec<T> codec,
+                String prefix,
+                int depth) {
+            final SpillPartitions<T> target = new SpillPartitions<>(directory(), prefix, partitions, codec);
+            target.fill(() -> {
+                try (Stream<T> rows = source.read(partition)) {
+                    rows.forEach(row -> target.write(partitionOf(key.apply(row), depth), row));
+                }
+            });
+            return target;
+        }
+
+        private int partitionOf(K key, int depth) {
+            if (key == null) {
+                return 0;
+            }
+            return Math.floorMod(OpenAddressing.mix(key.hashCode() ^ (depth * 0x61c88647)), partitions);
+        }
+
+        private synchronized Path directory() {
+            if (directory == null) {
+                try {
+                    directory = spillDirectory == null
+                            ? Files.createTempDirectory("hash-join")
+                            : Files.createTempDirectory(spillDirectory, "hash-join");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return directory;
+        }
+
+        private void close() {
+            try {
+                left.close();
+            } finally {
+                right.close();
+                deleteDirectory();
+            }
+        }
+
+        private synchronized void deleteDirectory() {
+            if (directory == null) {
+                return;
+            }
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            directory = null;
+        }
+
+        private void add(Map<K, List<R>> table, K key, R row) {
+            table.computeIfAbsent(key, k -> new ArrayList<>(1)).add(row);
+        }
+    }
+}
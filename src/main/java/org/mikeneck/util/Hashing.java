@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+final class Hashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads every input bit over the whole 64-bit result.
+     */
+    static long mix64(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    static long hash64(CharSequence chars) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < chars.length(); i++) {
+            hash = (hash ^ chars.charAt(i)) * FNV_PRIME;
+        }
+        return mix64(hash);
+    }
+
+    /**
+     * 64-bit hash of an item; character sequences are hashed by content, other objects through {@link Object#hashCode()}.
+     */
+    static long hash64(Object item) {
+        if (item instanceof CharSequence) {
+            return hash64((CharSequence) item);
+        }
+        if (item instanceof Long) {
+            return mix64((Long) item);
+        }
+        return mix64(item.hashCode());
+    }
+}
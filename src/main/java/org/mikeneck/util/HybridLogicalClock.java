@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hybrid logical clock issuing {@link Version}s for one node.
+ * <p>
+ * A timestamp packs wall-clock milliseconds into its upper 48 bits and a logical counter into the lower 16,
+ * so timestamps stay close to physical time yet never go backwards, and a version issued after observing a remote
+ * version is always greater than it.
+ * <p>
+ * The counter never carries into the millisecond field. When it is exhausted, issuing waits for the wall clock to
+ * reach the next millisecond, and throws {@link IllegalStateException} if that does not happen within
+ * {@code 10} ms (for example when a remote clock is far ahead).
+ */
+public final class HybridLogicalClock {
+
+    static final int COUNTER_BITS = 16;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long SATURATION_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int node;
+    private final LongSupplier millis;
+    private final AtomicLong state = new AtomicLong();
+
+    public HybridLogicalClock(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    HybridLogicalClock(int node, @NotNull LongSupplier millis) {
+        this.node = node;
+        this.millis = millis;
+    }
+
+    public int getNode() {
+        return node;
+    }
+
+    /**
+     * Issues a version for a local write.
+     */
+    @NotNull
+    public Version tick() {
+        return new Version(advance(0L), node);
+    }
+
+    /**
+     * Merges a version received from another node and issues a version greater than both.
+     */
+    @NotNull
+    @Contract("null->fail")
+    public Version observe(@NotNull @NonNull Version remote) {
+        return new Version(advance(remote.getTimestamp()), node);
+    }
+
+    private long advance(long received) {
+        long deadline = 0L;
+        while (true) {
+            final long physical = millis.getAsLong() << COUNTER_BITS;
+            final long current = state.get();
+            final long latest = Math.max(current, received);
+            if ((latest & COUNTER_MASK) == COUNTER_MASK && latest + 1 > physical) {
+                if (deadline == 0L) {
+                    deadline = System.nanoTime() + SATURATION_WAIT_NANOS;
+                } else if (System.nanoTime() - deadline > 0L) {
+                    throw new IllegalStateException(
+                            "logical counter exhausted at " + physicalMillis(latest) + " ms and the wall clock is behind");
+                }
+                Thread.yield();
+                continue;
+            }
+            final long next = Math.max(latest + 1, physical);
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    public static long physicalMillis(long timestamp) {
+        return timestamp >>> COUNTER_BITS;
+    }
+}
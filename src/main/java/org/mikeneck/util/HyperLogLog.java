@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * HyperLogLog distinct-count sketch with {@code 2^precision} one-byte registers.
+ * The standard error of {@link #estimate()} is {@link #relativeError()}, about {@code 1.04 / sqrt(2^precision)}.
+ * {@link #add} updates the sketch in place; {@link #append} returns a new sketch counting both inputs.
+ * Items other than strings and longs are hashed through their {@code hashCode}, so use {@link #addHash(long)}
+ * with a 64-bit hash when more than a few hundred million distinct items are expected.
+ */
+public final class HyperLogLog implements Monoid<Long, HyperLogLog> {
+
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 18;
+    static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    @NotNull
+    public static HyperLogLog create() {
+        return withPrecision(DEFAULT_PRECISION);
+    }
+
+    @NotNull
+    public static HyperLogLog withPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision out of range [" + MIN_PRECISION + ", " + MAX_PRECISION + "]: " + precision);
+        }
+        return new HyperLogLog(precision, new byte[1 << precision]);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    byte[] registers() {
+        return registers;
+    }
+
+    @Contract("null->fail")
+    public void add(@NotNull @NonNull Object item) {
+        addHash(Hashing.hash64(item));
+    }
+
+    public void add(long item) {
+        addHash(Hashing.mix64(item));
+    }
+
+    public void addHash(long hash) {
+        final int index = (int) (hash >>> (Long.SIZE - precision));
+        final long rest = (hash << precision) | (1L << (precision - 1));
+        final byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    public long estimate() {
+        final int m = registers.length;
+        double sum = 0.0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Double.longBitsToDouble((long) (1023 - register) << 52);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        final double raw = alpha(m) * m * m / sum;
+        if (raw <= 2.5 * m && zeros > 0) {
+            return Math.round(m * Math.log((double) m / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    public double relativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    @NotNull
+    @Override
+    public HyperLogLog append(@NotNull @NonNull HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("precision differs: " + precision + " and " + other.precision);
+        }
+        final byte[] merged = registers.clone();
+        for (int i = 0; i < merged.length; i++) {
+            if (merged[i] < other.registers[i]) {
+                merged[i] = other.registers[i];
+            }
+        }
+        return new HyperLogLog(precision, merged);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1.0 + 1.079 / m);
+        }
+    }
+}
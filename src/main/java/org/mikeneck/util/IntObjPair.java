@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+@Data
+public class IntObjPair<R> {
+
+    private final int left;
+    private final R right;
+
+    public IntObjPair(int left, @NotNull @NonNull R right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> IntObjPair<N> map(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        return new IntObjPair<>(left, function.apply(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> IntObjPair<N> bimap(@NotNull @NonNull IntObjFunction<? super R, ? extends N> function) {
+        return new IntObjPair<>(left, function.apply(left, right));
+    }
+
+    @NotNull
+    public ObjIntPair<R> reverse() {
+        return new ObjIntPair<>(right, left);
+    }
+
+    @NotNull
+    public Pair<Integer, R> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @FunctionalInterface
+    public interface IntObjFunction<R, N> {
+        N apply(int left, R right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R> IntObjPair<R> of(@NotNull @NonNull Pair<Integer, R> pair) {
+        return new IntObjPair<>(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R> IntFunction<IntObjPair<R>> mkPair(@NotNull @NonNull IntFunction<? extends R> function) {
+        //noinspection Contract
+        return l -> new IntObjPair<>(l, function.apply(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R, N> Function<IntObjPair<R>, IntObjPair<N>> mapPair(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        //noinspection Contract
+        return p -> new IntObjPair<>(p.left, function.apply(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R, N> Function<IntObjPair<R>, IntObjPair<N>> bimapPair(@NotNull @NonNull IntObjFunction<? super R, ? extends N> function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.UnaryOperator;
+
+@Data
+public class IntPair {
+
+    private final int left;
+    private final int right;
+
+    public IntPair(int left, int right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public IntPair map(@NotNull @NonNull IntUnaryOperator function) {
+        return new IntPair(left, function.applyAsInt(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public IntPair bimap(@NotNull @NonNull IntBinaryOperator function) {
+        return new IntPair(left, function.applyAsInt(left, right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> IntObjPair<N> mapToObj(@NotNull @NonNull IntFunction<? extends N> function) {
+        return new IntObjPair<>(left, function.apply(right));
+    }
+
+    @NotNull
+    public IntPair reverse() {
+        return new IntPair(right, left);
+    }
+
+    @NotNull
+    public Pair<Integer, Integer> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static IntPair of(@NotNull @NonNull Pair<Integer, Integer> pair) {
+        return new IntPair(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static IntFunction<IntPair> mkPair(@NotNull @NonNull IntUnaryOperator function) {
+        //noinspection Contract
+        return l -> new IntPair(l, function.applyAsInt(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static UnaryOperator<IntPair> mapPair(@NotNull @NonNull IntUnaryOperator function) {
+        //noinspection Contract
+        return p -> new IntPair(p.left, function.applyAsInt(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static UnaryOperator<IntPair> bimapPair(@NotNull @NonNull IntBinaryOperator function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
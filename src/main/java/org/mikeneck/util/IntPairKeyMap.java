@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map keyed by two {@code int}s, packed into one {@code long} slot.
+ * Values must not be {@code null}; {@code null} results mean the key is absent.
+ */
+public class IntPairKeyMap<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    public IntPairKeyMap() {
+        this(8);
+    }
+
+    public IntPairKeyMap(int expectedSize) {
+        allocate(OpenAddressing.capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Nullable
+    public V get(int left, int right) {
+        final int slot = find(pack(left, right));
+        return slot < 0 ? null : value(slot);
+    }
+
+    @NotNull
+    @Contract("_,_,null->fail")
+    public V getOrDefault(int left, int right, @NotNull @NonNull V defaultValue) {
+        final V value = get(left, right);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(int left, int right) {
+        return find(pack(left, right)) >= 0;
+    }
+
+    @Nullable
+    @Contract("_,_,null->fail")
+    public V put(int left, int right, @NotNull @NonNull V value) {
+        return put(pack(left, right), value, true);
+    }
+
+    @Nullable
+    @Contract("_,_,null->fail")
+    public V putIfAbsent(int left, int right, @NotNull @NonNull V value) {
+        return put(pack(left, right), value, false);
+    }
+
+    @NotNull
+    @Contract("_,_,null->fail")
+    public V computeIfAbsent(int left, int right, @NotNull @NonNull IntIntFunction<? extends V> function) {
+        final long key = pack(left, right);
+        final int slot = find(key);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        final V value = function.apply(left, right);
+        if (value == null) {
+            throw new NullPointerException("computed value must not be null");
+        }
+        insert(key, value);
+        return value;
+    }
+
+    @Nullable
+    public V remove(int left, int right) {
+        final int slot = find(pack(left, right));
+        if (slot < 0) {
+            return null;
+        }
+        final V old = value(slot);
+        delete(slot);
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Contract("null->fail")
+    public void forEach(@NotNull @NonNull EntryConsumer<? super V> consumer) {
+        final Object[] values = this.values;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                final long key = keys[slot];
+                consumer.accept((int) (key >>> 32), (int) key, value(slot));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntIntFunction<V> {
+        V apply(int left, int right);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int left, int right, V value);
+    }
+
+    private V put(long key, V value, boolean replace) {
+        final int slot = find(key);
+        if (slot < 0) {
+            insert(key, value);
+            return null;
+        }
+        final V old = value(slot);
+        if (replace) {
+            values[slot] = value;
+        }
+        return old;
+    }
+
+    private int find(long key) {
+        final Object[] values = this.values;
+        final int mask = values.length - 1;
+        for (int slot = OpenAddressing.mix(key) & mask; ; slot = (slot + 1) & mask) {
+            if (values[slot] == null) {
+                return -1;
+            }
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(long key, Object value) {
+        if (OpenAddressing.isFull(size + 1, values.length)) {
+            resize(values.length << 1);
+        }
+        place(key, value);
+        size++;
+    }
+
+    private void place(long key, Object value) {
+        final int mask = values.length - 1;
+        int slot = OpenAddressing.mix(key) & mask;
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private void delete(int slot) {
+        final int mask = values.length - 1;
+        int gap = slot;
+        for (int current = (gap + 1) & mask; values[current] != null; current = (current + 1) & mask) {
+            if (OpenAddressing.canShift(OpenAddressing.mix(keys[current]) & mask, gap, current, mask)) {
+                keys[gap] = keys[current];
+                values[gap] = values[current];
+                gap = current;
+            }
+        }
+        values[gap] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int old = 0; old < oldValues.length; old++) {
+            if (oldValues[old] != null) {
+                place(oldKeys[old], oldValues[old]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    private static long pack(int left, int right) {
+        return ((long) left << 32) | (right & 0xffffffffL);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+}
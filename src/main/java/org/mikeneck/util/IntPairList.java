@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Stores int pairs as two primitive columns. {@link IntPair} instances are created only by {@link #get(int)} and iteration.
+ */
+public class IntPairList extends AbstractList<IntPair> implements RandomAccess {
+
+    private int[] lefts;
+    private int[] rights;
+    private int size;
+
+    public IntPairList() {
+        this(10);
+    }
+
+    public IntPairList(int capacity) {
+        this(new int[capacity], new int[capacity], 0);
+    }
+
+    private IntPairList(int[] lefts, int[] rights, int size) {
+        this.lefts = lefts;
+        this.rights = rights;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @NotNull
+    @Override
+    public IntPair get(int index) {
+        Columns.checkIndex(index, size);
+        return new IntPair(lefts[index], rights[index]);
+    }
+
+    public int getLeft(int index) {
+        Columns.checkIndex(index, size);
+        return lefts[index];
+    }
+
+    public int getRight(int index) {
+        Columns.checkIndex(index, size);
+        return rights[index];
+    }
+
+    @NotNull
+    @Override
+    public IntPair set(int index, @NotNull @NonNull IntPair pair) {
+        final IntPair old = get(index);
+        lefts[index] = pair.getLeft();
+        rights[index] = pair.getRight();
+        return old;
+    }
+
+    @Override
+    public boolean add(@NotNull @NonNull IntPair pair) {
+        add(pair.getLeft(), pair.getRight());
+        return true;
+    }
+
+    public void add(int left, int right) {
+        ensureCapacity(size + 1);
+        lefts[size] = left;
+        rights[size] = right;
+        size++;
+        modCount++;
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public void addAll(@NotNull @NonNull int[] lefts, @NotNull @NonNull int[] rights) {
+        Columns.checkSameLength(lefts.length, rights.length);
+        ensureCapacity(size + lefts.length);
+        System.arraycopy(lefts, 0, this.lefts, size, lefts.length);
+        System.arraycopy(rights, 0, this.rights, size, rights.length);
+        size += lefts.length;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > lefts.length) {
+            final int grown = Columns.grow(lefts.length, capacity);
+            lefts = Arrays.copyOf(lefts, grown);
+            rights = Arrays.copyOf(rights, grown);
+        }
+    }
+
+    public void sortByLeft() {
+        sort(Columns.order(size, (i, j) -> Integer.compare(lefts[i], lefts[j])));
+    }
+
+    public void sortByRight() {
+        sort(Columns.order(size, (i, j) -> Integer.compare(rights[i], rights[j])));
+    }
+
+    private void sort(int[] order) {
+        lefts = Columns.permute(lefts, order);
+        rights = Columns.permute(rights, order);
+        modCount++;
+    }
+
+    public int binarySearchLeft(int key) {
+        return Arrays.binarySearch(lefts, 0, size, key);
+    }
+
+    public int binarySearchRight(int key) {
+        return Arrays.binarySearch(rights, 0, size, key);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public IntPairList map(@NotNull @NonNull IntUnaryOperator function) {
+        final int[] mapped = new int[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = function.applyAsInt(rights[i]);
+        }
+        return new IntPairList(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public IntPairList bimap(@NotNull @NonNull IntBinaryOperator function) {
+        final int[] mapped = new int[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = function.applyAsInt(lefts[i], rights[i]);
+        }
+        return new IntPairList(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @NotNull
+    public IntPairList reverse() {
+        return new IntPairList(Arrays.copyOf(rights, size), Arrays.copyOf(lefts, size), size);
+    }
+
+    @Contract("null->fail")
+    public void forEachPair(@NotNull @NonNull IntIntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(lefts[i], rights[i]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int left, int right);
+    }
+}
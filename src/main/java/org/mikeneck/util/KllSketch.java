@@ -0,0 +1,279 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * KLL quantile sketch over {@code double} values.
+ * <p>
+ * Values are kept in levels of sorted compactors; an item at level {@code h} stands for {@code 2^h} inputs, and the
+ * capacity of lower levels decays geometrically from {@code k}. Estimated ranks are within
+ * {@link #normalizedRankError()} of the true rank with about 99% confidence. {@link #add} updates the sketch in place;
+ * {@link #append} returns a new sketch of both inputs.
+ */
+public final class KllSketch implements Monoid<Double, KllSketch> {
+
+    static final int DEFAULT_K = 200;
+    static final int MIN_K = 8;
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final double DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private double[][] levels;
+    private int[] sizes;
+    private int levelCount;
+    private long n;
+    private double min;
+    private double max;
+    private long random;
+
+    KllSketch(int k, long n, double min, double max, double[][] levels, int[] sizes) {
+        this.k = k;
+        this.n = n;
+        this.min = min;
+        this.max = max;
+        this.levels = levels;
+        this.sizes = sizes;
+        this.levelCount = levels.length;
+        this.random = n;
+    }
+
+    @NotNull
+    public static KllSketch create() {
+        return withK(DEFAULT_K);
+    }
+
+    @NotNull
+    public static KllSketch withK(int k) {
+        if (k < MIN_K || k > (1 << 16)) {
+            throw new IllegalArgumentException("k out of range [" + MIN_K + ", 65536]: " + k);
+        }
+        return new KllSketch(k, 0L, Double.NaN, Double.NaN, new double[][]{new double[MIN_LEVEL_CAPACITY]}, new int[1]);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public long getN() {
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return n == 0L;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    int levelCount() {
+        return levelCount;
+    }
+
+    int levelSize(int level) {
+        return sizes[level];
+    }
+
+    double[] level(int level) {
+        return levels[level];
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("NaN cannot be ranked");
+        }
+        if (n == 0L) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        n++;
+        push(0, value);
+        compress();
+    }
+
+    /**
+     * Returns the value whose normalized rank is about {@code fraction}, or {@code NaN} for an empty sketch.
+     */
+    public double quantile(double fraction) {
+        if (fraction < 0.0 || fraction > 1.0) {
+            throw new IllegalArgumentException("fraction out of range [0, 1]: " + fraction);
+        }
+        if (n == 0L) {
+            return Double.NaN;
+        }
+        if (fraction == 0.0) {
+            return min;
+        }
+        if (fraction == 1.0) {
+            return max;
+        }
+        final int retained = retained();
+        final double[] values = new double[retained];
+        final long[] weights = new long[retained];
+        int index = 0;
+        for (int level = 0; level < levelCount; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[index] = levels[level][i];
+                weights[index] = 1L << level;
+                index++;
+            }
+        }
+        final int[] order = Columns.order(retained, (a, b) -> Double.compare(values[a], values[b]));
+        final double target = fraction * n;
+        long cumulative = 0L;
+        for (int row : order) {
+            cumulative += weights[row];
+            if (cumulative >= target) {
+                return values[row];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the estimated fraction of added values less than or equal to {@code value}.
+     */
+    public double rank(double value) {
+        if (n == 0L) {
+            return Double.NaN;
+        }
+        long weight = 0L;
+        for (int level = 0; level < levelCount; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                if (levels[level][i] <= value) {
+                    weight += 1L << level;
+                }
+            }
+        }
+        return (double) weight / n;
+    }
+
+    public double normalizedRankError() {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    @NotNull
+    @Override
+    public KllSketch append(@NotNull @NonNull KllSketch other) {
+        final KllSketch merged = withK(Math.min(k, other.k));
+        merged.mergeFrom(this);
+        merged.mergeFrom(other);
+        return merged;
+    }
+
+    private void mergeFrom(KllSketch other) {
+        if (other.n == 0L) {
+            return;
+        }
+        min = n == 0L ? other.min : Math.min(min, other.min);
+        max = n == 0L ? other.max : Math.max(max, other.max);
+        n += other.n;
+        for (int level = 0; level < other.levelCount; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                push(level, other.levels[level][i]);
+            }
+        }
+        compress();
+    }
+
+    private void compress() {
+        while (retained() > totalCapacity()) {
+            for (int level = 0; level < levelCount; level++) {
+                if (sizes[level] >= capacity(level)) {
+                    compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void compact(int level) {
+        ensureLevel(level + 1);
+        final double[] items = levels[level];
+        final int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        final int keep = size & 1;
+        for (int i = keep + nextBit(); i < size; i += 2) {
+            push(level + 1, items[i]);
+        }
+        sizes[level] = keep;
+    }
+
+    private void push(int level, double value) {
+        ensureLevel(level);
+        double[] items = levels[level];
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, Columns.grow(items.length, items.length + 1));
+            levels[level] = items;
+        }
+        items[sizes[level]++] = value;
+    }
+
+    private void ensureLevel(int level) {
+        if (level < levelCount) {
+            return;
+        }
+        if (level >= levels.length) {
+            levels = Arrays.copyOf(levels, level + 1);
+            sizes = Arrays.copyOf(sizes, level + 1);
+        }
+        for (int h = levelCount; h <= level; h++) {
+            if (levels[h] == null) {
+                levels[h] = new double[MIN_LEVEL_CAPACITY];
+            }
+        }
+        levelCount = level + 1;
+    }
+
+    private int capacity(int level) {
+        final int depth = levelCount - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for (int level = 0; level < levelCount; level++) {
+            total += capacity(level);
+        }
+        return total;
+    }
+
+    private int retained() {
+        int total = 0;
+        for (int level = 0; level < levelCount; level++) {
+            total += sizes[level];
+        }
+        return total;
+    }
+
+    private int nextBit() {
+        random++;
+        return (int) (Hashing.mix64(random) & 1L);
+    }
+}
@@ -49,14 +49,40 @@ public interface Last<T> extends Monoid<T, Last<T>> {
     @Contract("null->fail")
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     static <T> Last<T> of(@NotNull @NonNull Optional<T> candidate) {
-        return candidate.<Last<T>>map(Candidate::new)
-                .orElseGet(Yet::new);
+        return candidate.isPresent() ? new Candidate<>(candidate.get()) : empty();
     }
 
     @NotNull
     @Contract("null->!null;_->!null")
     static <T> Last<T> of(@Nullable T nullable) {
-        return of(Optional.ofNullable(nullable));
+        return nullable == null ? empty() : new Candidate<>(nullable);
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    @SuppressWarnings("unchecked")
+    static <T> Last<T> empty() {
+        return (Last<T>) Yet.INSTANCE;
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static <T> LastAccumulator<T> accumulator() {
+        return new LastAccumulator<>();
+    }
+
+    /**
+     * Returns a view of {@code last} whose {@code map} calls are fused and run at most once,
+     * when {@code isEmpty} or {@code or} first needs the result. Appending a present candidate replaces the deferred
+     * value without computing it. A mapped {@code null} is empty.
+     */
+    @NotNull
+    @Contract("null->fail")
+    static <T> Last<T> deferred(@NotNull @NonNull Last<T> last) {
+        if (last instanceof DeferredLast || last.isEmpty()) {
+            return last;
+        }
+        return new DeferredLast<T, T>(last, Function.identity());
     }
 }
 
@@ -91,28 +117,30 @@ class Candidate<T> implements Last<T> {
     @NotNull
     @Override
     public T or(@NotNull @NonNull Supplier<? extends T> candidate) {
-        return candidate.get();
+        return value;
     }
 
     @NotNull
     @Override
     public Last<T> append(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
-        return candidate.get()
-                .<Last<T>>map(Candidate::new)
-                .orElse(this);
+        return append(candidate.get());
     }
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     @NotNull
     @Override
     public Last<T> append(@NotNull @NonNull Optional<T> candidate) {
-        return candidate.<Last<T>>map(Candidate::new)
-                .orElse(this);
+        return candidate.isPresent() ? new Candidate<>(candidate.get()) : this;
     }
 }
 
 class Yet<T> implements Last<T> {
 
+    static final Yet<Object> INSTANCE = new Yet<>();
+
+    private Yet() {
+    }
+
     @Override
     public @NotNull Last<T> append(@NotNull @NonNull Last<T> other) {
         //noinspection Contract
@@ -127,7 +155,7 @@ class Yet<T> implements Last<T> {
     @NotNull
     @Override
     public <R> Last<R> map(@NotNull @NonNull Function<? super T, ? extends R> function) {
-        return new Yet<>();
+        return Last.empty();
     }
 
     @NotNull
@@ -139,16 +167,13 @@ class Yet<T> implements Last<T> {
     @NotNull
     @Override
     public Last<T> append(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
-        return candidate.get()
-                .<Last<T>>map(Candidate::new)
-                .orElse(this);
+        return append(candidate.get());
     }
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     @NotNull
     @Override
     public Last<T> append(@NotNull @NonNull Optional<T> candidate) {
-        return candidate.<Last<T>>map(Candidate::new)
-                .orElse(this);
+        return candidate.isPresent() ? new Candidate<>(candidate.get()) : this;
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Mutable, single-threaded counterpart of {@link Last}.
+ * Candidates are absorbed without allocation; {@link #toLast()} produces the immutable result.
+ */
+public final class LastAccumulator<T> {
+
+    @Nullable
+    private T value;
+
+    LastAccumulator() {
+    }
+
+    public boolean isEmpty() {
+        return value == null;
+    }
+
+    @NotNull
+    public LastAccumulator<T> appendNullable(@Nullable T candidate) {
+        if (candidate != null) {
+            value = candidate;
+        }
+        return this;
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    @NotNull
+    @Contract("null->fail")
+    public LastAccumulator<T> append(@NotNull @NonNull Optional<T> candidate) {
+        if (candidate.isPresent()) {
+            value = candidate.get();
+        }
+        return this;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public LastAccumulator<T> append(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
+        return append(candidate.get());
+    }
+
+    @NotNull
+    public LastAccumulator<T> reset() {
+        value = null;
+        return this;
+    }
+
+    @NotNull
+    public Last<T> toLast() {
+        return Last.of(value);
+    }
+}
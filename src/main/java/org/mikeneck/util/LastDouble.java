@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalDouble;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+public interface LastDouble extends Monoid<Double, LastDouble> {
+
+    boolean isEmpty();
+
+    @NotNull
+    @Contract("null->fail")
+    LastDouble map(@NotNull DoubleUnaryOperator function);
+
+    @Contract("null->fail")
+    double or(@NotNull DoubleSupplier candidate);
+
+    double orElse(double other);
+
+    @NotNull
+    LastDouble append(double candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    LastDouble append(@NotNull OptionalDouble candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    LastDouble append(@NotNull Supplier<? extends OptionalDouble> candidate);
+
+    @NotNull
+    OptionalDouble toOptional();
+
+    @NotNull
+    Last<Double> boxed();
+
+    @NotNull
+    static LastDouble of(double value) {
+        return new CandidateDouble(value);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    static LastDouble of(@NotNull @NonNull OptionalDouble candidate) {
+        return candidate.isPresent() ? new CandidateDouble(candidate.getAsDouble()) : empty();
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static LastDouble empty() {
+        return YetDouble.INSTANCE;
+    }
+}
+
+class CandidateDouble implements LastDouble {
+
+    private final double value;
+
+    CandidateDouble(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public @NotNull LastDouble append(@NotNull @NonNull LastDouble other) {
+        //noinspection Contract
+        if (other.isEmpty()) {
+            return this;
+        }
+        return other;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public LastDouble map(@NotNull @NonNull DoubleUnaryOperator function) {
+        return new CandidateDouble(function.applyAsDouble(value));
+    }
+
+    @Override
+    public double or(@NotNull @NonNull DoubleSupplier candidate) {
+        return value;
+    }
+
+    @Override
+    public double orElse(double other) {
+        return value;
+    }
+
+    @NotNull
+    @Override
+    public LastDouble append(double candidate) {
+        return new CandidateDouble(candidate);
+    }
+
+    @NotNull
+    @Override
+    public LastDouble append(@NotNull @NonNull OptionalDouble candidate) {
+        return candidate.isPresent() ? new CandidateDouble(candidate.getAsDouble()) : this;
+    }
+
+    @NotNull
+    @Override
+    public LastDouble append(@NotNull @NonNull Supplier<? extends OptionalDouble> candidate) {
+        return append(candidate.get());
+    }
+
+    @NotNull
+    @Override
+    public OptionalDouble toOptional() {
+        return OptionalDouble.of(value);
+    }
+
+    @NotNull
+    @Override
+    public Last<Double> boxed() {
+        return Last.of(value);
+    }
+}
+
+class YetDouble implements LastDouble {
+
+    static final YetDouble INSTANCE = new YetDouble();
+
+    private YetDouble() {
+    }
+
+    @Override
+    public @NotNull LastDouble append(@NotNull @NonNull LastDouble other) {
+        //noinspection Contract
+        return other;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public LastDouble map(@NotNull @NonNull DoubleUnaryOperator function) {
+        return this;
+    }
+
+    @Override
+    public double or(@NotNull @NonNull DoubleSupplier candidate) {
+        return candidate.getAsDouble();
+    }
+
+    @Override
+    public double orElse(double other) {
+        return other;
+    }
+
+    @NotNull
+    @Override
+    public LastDouble append(double candidate) {
+        return new CandidateDouble(candidate);
+    }
+
+    @NotNull
+    @Override
+    public LastDouble append(@NotNull @NonNull OptionalDouble candidate) {
+        return candidate.isPresent() ? new CandidateDouble(candidate.getAsDouble()) : this;
+    }
+
+    @NotNull
+    @Override
+    public LastDouble append(@NotNull @NonNull Supplier<? extends OptionalDouble> candidate) {
+        return append(candidate.get());
+    }
+
+    @NotNull
+    @Override
+    public OptionalDouble toOptional() {
+        return OptionalDouble.empty();
+    }
+
+    @NotNull
+    @Override
+    public Last<Double> boxed() {
+        return Last.empty();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalInt;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+public interface LastInt extends Monoid<Integer, LastInt> {
+
+    boolean isEmpty();
+
+    @NotNull
+    @Contract("null->fail")
+    LastInt map(@NotNull IntUnaryOperator function);
+
+    @Contract("null->fail")
+    int or(@NotNull IntSupplier candidate);
+
+    int orElse(int other);
+
+    @NotNull
+    LastInt append(int candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    LastInt append(@NotNull OptionalInt candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    LastInt append(@NotNull Supplier<? extends OptionalInt> candidate);
+
+    @NotNull
+    OptionalInt toOptional();
+
+    @NotNull
+    Last<Integer> boxed();
+
+    @NotNull
+    static LastInt of(int value) {
+        return new CandidateInt(value);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    static LastInt of(@NotNull @NonNull OptionalInt candidate) {
+        return candidate.isPresent() ? new CandidateInt(candidate.getAsInt()) : empty();
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static LastInt empty() {
+        return YetInt.INSTANCE;
+    }
+}
+
+class CandidateInt implements LastInt {
+
+    private final int value;
+
+    CandidateInt(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public @NotNull LastInt append(@NotNull @NonNull LastInt other) {
+        //noinspection Contract
+        if (other.isEmpty()) {
+            return this;
+        }
+        return other;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public LastInt map(@NotNull @NonNull IntUnaryOperator function) {
+        return new CandidateInt(function.applyAsInt(value));
+    }
+
+    @Override
+    public int or(@NotNull @NonNull IntSupplier candidate) {
+        return value;
+    }
+
+    @Override
+    public int orElse(int other) {
+        return value;
+    }
+
+    @NotNull
+    @Override
+    public LastInt append(int candidate) {
+        return new CandidateInt(candidate);
+    }
+
+    @NotNull
+    @Override
+    public LastInt append(@NotNull @NonNull OptionalInt candidate) {
+        return candidate.isPresent() ? new CandidateInt(candidate.getAsInt()) : this;
+    }
+
+    @NotNull
+    @Override
+    public LastInt append(@NotNull @NonNull Supplier<? extends OptionalInt> candidate) {
+        return append(candidate.get());
+    }
+
+    @NotNull
+    @Override
+    public OptionalInt toOptional() {
+        return OptionalInt.of(value);
+    }
+
+    @NotNull
+    @Override
+    public Last<Integer> boxed() {
+        return Last.of(value);
+    }
+}
+
+class YetInt implements LastInt {
+
+    static final YetInt INSTANCE = new YetInt();
+
+    private YetInt() {
+    }
+
+    @Override
+    public @NotNull LastInt append(@NotNull @NonNull LastInt other) {
+        //noinspection Contract
+        return other;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public LastInt map(@NotNull @NonNull IntUnaryOperator function) {
+        return this;
+    }
+
+    @Override
+    public int or(@NotNull @NonNull IntSupplier candidate) {
+        return candidate.getAsInt();
+    }
+
+    @Override
+    public int orElse(int other) {
+        return other;
+    }
+
+    @NotNull
+    @Override
+    public LastInt append(int candidate) {
+        return new CandidateInt(candidate);
+    }
+
+    @NotNull
+    @Override
+    public LastInt append(@NotNull @NonNull OptionalInt candidate) {
+        return candidate.isPresent() ? new CandidateInt(candidate.getAsInt()) : this;
+    }
+
+    @NotNull
+    @Override
+    public LastInt append(@NotNull @NonNull Supplier<? extends OptionalInt> candidate) {
+        return append(candidate.get());
+    }
+
+    @NotNull
+    @Override
+    public OptionalInt toOptional() {
+        return OptionalInt.empty();
+    }
+
+    @NotNull
+    @Override
+    public Last<Integer> boxed() {
+        return Last.empty();
+    }
+}
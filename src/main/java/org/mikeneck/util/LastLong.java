@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+public interface LastLong extends Monoid<Long, LastLong> {
+
+    boolean isEmpty();
+
+    @NotNull
+    @Contract("null->fail")
+    LastLong map(@NotNull LongUnaryOperator function);
+
+    @Contract("null->fail")
+    long or(@NotNull LongSupplier candidate);
+
+    long orElse(long other);
+
+    @NotNull
+    LastLong append(long candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    LastLong append(@NotNull OptionalLong candidate);
+
+    @NotNull
+    @Contract("null->fail")
+    LastLong append(@NotNull Supplier<? extends OptionalLong> candidate);
+
+    @NotNull
+    OptionalLong toOptional();
+
+    @NotNull
+    Last<Long> boxed();
+
+    @NotNull
+    static LastLong of(long value) {
+        return new CandidateLong(value);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    static LastLong of(@NotNull @NonNull OptionalLong candidate) {
+        return candidate.isPresent() ? new CandidateLong(candidate.getAsLong()) : empty();
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    static LastLong empty() {
+        return YetLong.INSTANCE;
+    }
+}
+
+class CandidateLong implements LastLong {
+
+    private final long value;
+
+    CandidateLong(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public @NotNull LastLong append(@NotNull @NonNull LastLong other) {
+        //noinspection Contract
+        if (other.isEmpty()) {
+            return this;
+        }
+        return other;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public LastLong map(@NotNull @NonNull LongUnaryOperator function) {
+        return new CandidateLong(function.applyAsLong(value));
+    }
+
+    @Override
+    public long or(@NotNull @NonNull LongSupplier candidate) {
+        return value;
+    }
+
+    @Override
+    public long orElse(long other) {
+        return value;
+    }
+
+    @NotNull
+    @Override
+    public LastLong append(long candidate) {
+        return new CandidateLong(candidate);
+    }
+
+    @NotNull
+    @Override
+    public LastLong append(@NotNull @NonNull OptionalLong candidate) {
+        return candidate.isPresent() ? new CandidateLong(candidate.getAsLong()) : this;
+    }
+
+    @NotNull
+    @Override
+    public LastLong append(@NotNull @NonNull Supplier<? extends OptionalLong> candidate) {
+        return append(candidate.get());
+    }
+
+    @NotNull
+    @Override
+    public OptionalLong toOptional() {
+        return OptionalLong.of(value);
+    }
+
+    @NotNull
+    @Override
+    public Last<Long> boxed() {
+        return Last.of(value);
+    }
+}
+
+class YetLong implements LastLong {
+
+    static final YetLong INSTANCE = new YetLong();
+
+    private YetLong() {
+    }
+
+    @Override
+    public @NotNull LastLong append(@NotNull @NonNull LastLong other) {
+        //noinspection Contract
+        return other;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public LastLong map(@NotNull @NonNull LongUnaryOperator function) {
+        return this;
+    }
+
+    @Override
+    public long or(@NotNull @NonNull LongSupplier candidate) {
+        return candidate.getAsLong();
+    }
+
+    @Override
+    public long orElse(long other) {
+        return other;
+    }
+
+    @NotNull
+    @Override
+    public LastLong append(long candidate) {
+        return new CandidateLong(candidate);
+    }
+
+    @NotNull
+    @Override
+    public LastLong append(@NotNull @NonNull OptionalLong candidate) {
+        return candidate.isPresent() ? new CandidateLong(candidate.getAsLong()) : this;
+    }
+
+    @NotNull
+    @Override
+    public LastLong append(@NotNull @NonNull Supplier<? extends OptionalLong> candidate) {
+        return append(candidate.get());
+    }
+
+    @NotNull
+    @Override
+    public OptionalLong toOptional() {
+        return OptionalLong.empty();
+    }
+
+    @NotNull
+    @Override
+    public Last<Long> boxed() {
+        return Last.empty();
+    }
+}
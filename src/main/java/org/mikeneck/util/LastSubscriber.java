@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reactive Streams subscriber resolving to the {@link Last} present mapping of the published elements.
+ * Only the latest candidate is retained, so memory stays constant however long the publisher runs.
+ * A subscriber instance is used for a single subscription.
+ */
+public final class LastSubscriber<T, R> extends BoundedSubscriber<T, Last<R>> {
+
+    private final Function<? super T, Optional<R>> mapper;
+    private final LastAccumulator<R> last = Last.accumulator();
+
+    private LastSubscriber(Function<? super T, Optional<R>> mapper, int batchSize) {
+        super(batchSize);
+        this.mapper = mapper;
+    }
+
+    @NotNull
+    public static <T> LastSubscriber<T, T> of() {
+        return new LastSubscriber<>(Optional::of, DEFAULT_BATCH_SIZE);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T> LastSubscriber<T, T> matching(@NotNull @NonNull Predicate<? super T> predicate) {
+        return new LastSubscriber<>(item -> predicate.test(item) ? Optional.of(item) : Optional.empty(), DEFAULT_BATCH_SIZE);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T, R> LastSubscriber<T, R> mapping(@NotNull @NonNull Function<? super T, Optional<R>> mapper) {
+        return mapping(mapper, DEFAULT_BATCH_SIZE);
+    }
+
+    @NotNull
+    @Contract("null,_->fail")
+    public static <T, R> LastSubscriber<T, R> mapping(@NotNull @NonNull Function<? super T, Optional<R>> mapper, int batchSize) {
+        return new LastSubscriber<>(mapper, batchSize);
+    }
+
+    @Override
+    boolean accept(@NotNull T item) {
+        last.append(mapper.apply(item));
+        return false;
+    }
+
+    @NotNull
+    @Override
+    Last<R> settle() {
+        return last.toLast();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+@Data
+public class LongObjPair<R> {
+
+    private final long left;
+    private final R right;
+
+    public LongObjPair(long left, @NotNull @NonNull R right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> LongObjPair<N> map(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        return new LongObjPair<>(left, function.apply(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> LongObjPair<N> bimap(@NotNull @NonNull LongObjFunction<? super R, ? extends N> function) {
+        return new LongObjPair<>(left, function.apply(left, right));
+    }
+
+    @NotNull
+    public ObjLongPair<R> reverse() {
+        return new ObjLongPair<>(right, left);
+    }
+
+    @NotNull
+    public Pair<Long, R> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @FunctionalInterface
+    public interface LongObjFunction<R, N> {
+        N apply(long left, R right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R> LongObjPair<R> of(@NotNull @NonNull Pair<Long, R> pair) {
+        return new LongObjPair<>(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R> LongFunction<LongObjPair<R>> mkPair(@NotNull @NonNull LongFunction<? extends R> function) {
+        //noinspection Contract
+        return l -> new LongObjPair<>(l, function.apply(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R, N> Function<LongObjPair<R>, LongObjPair<N>> mapPair(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        //noinspection Contract
+        return p -> new LongObjPair<>(p.left, function.apply(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <R, N> Function<LongObjPair<R>, LongObjPair<N>> bimapPair(@NotNull @NonNull LongObjFunction<? super R, ? extends N> function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.UnaryOperator;
+
+@Data
+public class LongPair {
+
+    private final long left;
+    private final long right;
+
+    public LongPair(long left, long right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public LongPair map(@NotNull @NonNull LongUnaryOperator function) {
+        return new LongPair(left, function.applyAsLong(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public LongPair bimap(@NotNull @NonNull LongBinaryOperator function) {
+        return new LongPair(left, function.applyAsLong(left, right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> LongObjPair<N> mapToObj(@NotNull @NonNull LongFunction<? extends N> function) {
+        return new LongObjPair<>(left, function.apply(right));
+    }
+
+    @NotNull
+    public LongPair reverse() {
+        return new LongPair(right, left);
+    }
+
+    @NotNull
+    public Pair<Long, Long> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static LongPair of(@NotNull @NonNull Pair<Long, Long> pair) {
+        return new LongPair(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static LongFunction<LongPair> mkPair(@NotNull @NonNull LongUnaryOperator function) {
+        //noinspection Contract
+        return l -> new LongPair(l, function.applyAsLong(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static UnaryOperator<LongPair> mapPair(@NotNull @NonNull LongUnaryOperator function) {
+        //noinspection Contract
+        return p -> new LongPair(p.left, function.applyAsLong(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static UnaryOperator<LongPair> bimapPair(@NotNull @NonNull LongBinaryOperator function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map keyed by two {@code long}s held in flat columns.
+ * Values must not be {@code null}; {@code null} results mean the key is absent.
+ */
+public class LongPairKeyMap<V> {
+
+    private long[] lefts;
+    private long[] rights;
+    private Object[] values;
+    private int size;
+
+    public LongPairKeyMap() {
+        this(8);
+    }
+
+    public LongPairKeyMap(int expectedSize) {
+        allocate(OpenAddressing.capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Nullable
+    public V get(long left, long right) {
+        final int slot = find(left, right);
+        return slot < 0 ? null : value(slot);
+    }
+
+    @NotNull
+    @Contract("_,_,null->fail")
+    public V getOrDefault(long left, long right, @NotNull @NonNull V defaultValue) {
+        final V value = get(left, right);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(long left, long right) {
+        return find(left, right) >= 0;
+    }
+
+    @Nullable
+    @Contract("_,_,null->fail")
+    public V put(long left, long right, @NotNull @NonNull V value) {
+        return put(left, right, value, true);
+    }
+
+    @Nullable
+    @Contract("_,_,null->fail")
+    public V putIfAbsent(long left, long right, @NotNull @NonNull V value) {
+        return put(left, right, value, false);
+    }
+
+    @NotNull
+    @Contract("_,_,null->fail")
+    public V computeIfAbsent(long left, long right, @NotNull @NonNull LongLongFunction<? extends V> function) {
+        final int slot = find(left, right);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        final V value = function.apply(left, right);
+        if (value == null) {
+            throw new NullPointerException("computed value must not be null");
+        }
+        insert(left, right, value);
+        return value;
+    }
+
+    @Nullable
+    public V remove(long left, long right) {
+        final int slot = find(left, right);
+        if (slot < 0) {
+            return null;
+        }
+        final V old = value(slot);
+        delete(slot);
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Contract("null->fail")
+    public void forEach(@NotNull @NonNull EntryConsumer<? super V> consumer) {
+        final Object[] values = this.values;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                consumer.accept(lefts[slot], rights[slot], value(slot));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface LongLongFunction<V> {
+        V apply(long left, long right);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long left, long right, V value);
+    }
+
+    private V put(long left, long right, V value, boolean replace) {
+        final int slot = find(left, right);
+        if (slot < 0) {
+            insert(left, right, value);
+            return null;
+        }
+        final V old = value(slot);
+        if (replace) {
+            values[slot] = value;
+        }
+        return old;
+    }
+
+    private int find(long left, long right) {
+        final Object[] values = this.values;
+        final int mask = values.length - 1;
+        for (int slot = hash(left, right) & mask; ; slot = (slot + 1) & mask) {
+            if (values[slot] == null) {
+                return -1;
+            }
+            if (lefts[slot] == left && rights[slot] == right) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(long left, long right, Object value) {
+        if (OpenAddressing.isFull(size + 1, values.length)) {
+            resize(values.length << 1);
+        }
+        place(left, right, value);
+        size++;
+    }
+
+    private void place(long left, long right, Object value) {
+        final int mask = values.length - 1;
+        int slot = hash(left, right) & mask;
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        lefts[slot] = left;
+        rights[slot] = right;
+        values[slot] = value;
+    }
+
+    private void delete(int slot) {
+        final int mask = values.length - 1;
+        int gap = slot;
+        for (int current = (gap + 1) & mask; values[current] != null; current = (current + 1) & mask) {
+            if (OpenAddressing.canShift(hash(lefts[current], rights[current]) & mask, gap, current, mask)) {
+                lefts[gap] = lefts[current];
+                rights[gap] = rights[current];
+                values[gap] = values[current];
+                gap = current;
+            }
+        }
+        values[gap] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        final long[] oldLefts = lefts;
+        final long[] oldRights = rights;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int old = 0; old < oldValues.length; old++) {
+            if (oldValues[old] != null) {
+                place(oldLefts[old], oldRights[old], oldValues[old]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        lefts = new long[capacity];
+        rights = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    private static int hash(long left, long right) {
+        return 31 * OpenAddressing.mix(left) + OpenAddressing.mix(right);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+}
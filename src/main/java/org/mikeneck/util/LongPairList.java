@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Stores long pairs as two primitive columns. {@link LongPair} instances are created only by {@link #get(int)} and iteration.
+ */
+public class LongPairList extends AbstractList<LongPair> implements RandomAccess {
+
+    private long[] lefts;
+    private long[] rights;
+    private int size;
+
+    public LongPairList() {
+        this(10);
+    }
+
+    public LongPairList(int capacity) {
+        this(new long[capacity], new long[capacity], 0);
+    }
+
+    private LongPairList(long[] lefts, long[] rights, int size) {
+        this.lefts = lefts;
+        this.rights = rights;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @NotNull
+    @Override
+    public LongPair get(int index) {
+        Columns.checkIndex(index, size);
+        return new LongPair(lefts[index], rights[index]);
+    }
+
+    public long getLeft(int index) {
+        Columns.checkIndex(index, size);
+        return lefts[index];
+    }
+
+    public long getRight(int index) {
+        Columns.checkIndex(index, size);
+        return rights[index];
+    }
+
+    @NotNull
+    @Override
+    public LongPair set(int index, @NotNull @NonNull LongPair pair) {
+        final LongPair old = get(index);
+        lefts[index] = pair.getLeft();
+        rights[index] = pair.getRight();
+        return old;
+    }
+
+    @Override
+    public boolean add(@NotNull @NonNull LongPair pair) {
+        add(pair.getLeft(), pair.getRight());
+        return true;
+    }
+
+    public void add(long left, long right) {
+        ensureCapacity(size + 1);
+        lefts[size] = left;
+        rights[size] = right;
+        size++;
+        modCount++;
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public void addAll(@NotNull @NonNull long[] lefts, @NotNull @NonNull long[] rights) {
+        Columns.checkSameLength(lefts.length, rights.length);
+        ensureCapacity(size + lefts.length);
+        System.arraycopy(lefts, 0, this.lefts, size, lefts.length);
+        System.arraycopy(rights, 0, this.rights, size, rights.length);
+        size += lefts.length;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > lefts.length) {
+            final int grown = Columns.grow(lefts.length, capacity);
+            lefts = Arrays.copyOf(lefts, grown);
+            rights = Arrays.copyOf(rights, grown);
+        }
+    }
+
+    public void sortByLeft() {
+        sort(Columns.order(size, (i, j) -> Long.compare(lefts[i], lefts[j])));
+    }
+
+    public void sortByRight() {
+        sort(Columns.order(size, (i, j) -> Long.compare(rights[i], rights[j])));
+    }
+
+    private void sort(int[] order) {
+        lefts = Columns.permute(lefts, order);
+        rights = Columns.permute(rights, order);
+        modCount++;
+    }
+
+    public int binarySearchLeft(long key) {
+        return Arrays.binarySearch(lefts, 0, size, key);
+    }
+
+    public int binarySearchRight(long key) {
+        return Arrays.binarySearch(rights, 0, size, key);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public LongPairList map(@NotNull @NonNull LongUnaryOperator function) {
+        final long[] mapped = new long[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = function.applyAsLong(rights[i]);
+        }
+        return new LongPairList(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public LongPairList bimap(@NotNull @NonNull LongBinaryOperator function) {
+        final long[] mapped = new long[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = function.applyAsLong(lefts[i], rights[i]);
+        }
+        return new LongPairList(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @NotNull
+    public LongPairList reverse() {
+        return new LongPairList(Arrays.copyOf(rights, size), Arrays.copyOf(lefts, size), size);
+    }
+
+    @Contract("null->fail")
+    public void forEachPair(@NotNull @NonNull LongLongConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(lefts[i], rights[i]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        void accept(long left, long right);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * {@link TopK} specialized for {@code long} scores, kept unboxed.
+ */
+public final class LongTopK<T> extends BoundedHeap<T> implements Monoid<ObjLongPair<T>, LongTopK<T>> {
+
+    private final boolean largest;
+    private long[] scores;
+
+    private LongTopK(int k, boolean largest, Comparator<? super T> tieBreak) {
+        super(k, tieBreak);
+        this.largest = largest;
+        this.scores = new long[items.length];
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public static <T> LongTopK<T> largest(int k, @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return new LongTopK<>(k, true, tieBreak);
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public static <T> LongTopK<T> smallest(int k, @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return new LongTopK<>(k, false, tieBreak);
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>> LongTopK<T> largest(int k) {
+        return largest(k, Comparator.naturalOrder());
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>> LongTopK<T> smallest(int k) {
+        return smallest(k, Comparator.naturalOrder());
+    }
+
+    @Contract("null,_->fail")
+    public void add(@NotNull @NonNull T item, long score) {
+        final int slot;
+        if (size < k) {
+            slot = push();
+        } else if (beatsRoot(item, rank(score, scores[0]))) {
+            slot = 0;
+        } else {
+            return;
+        }
+        items[slot] = item;
+        scores[slot] = score;
+        placed(slot);
+    }
+
+    /**
+     * Calls {@code consumer} with the retained items, best first.
+     */
+    @Contract("null->fail")
+    public void forEach(@NotNull @NonNull ObjLongConsumer<? super T> consumer) {
+        for (int index : order()) {
+            consumer.accept(item(index), scores[index]);
+        }
+    }
+
+    /**
+     * Returns the retained items, best first.
+     */
+    @NotNull
+    public List<ObjLongPair<T>> toList() {
+        final List<ObjLongPair<T>> list = new ArrayList<>(size);
+        forEach((item, score) -> list.add(new ObjLongPair<>(item, score)));
+        return list;
+    }
+
+    @NotNull
+    @Override
+    public LongTopK<T> append(@NotNull @NonNull LongTopK<T> other) {
+        final LongTopK<T> merged = new LongTopK<>(k, largest, tieBreak);
+        merged.addAll(this);
+        merged.addAll(other);
+        return merged;
+    }
+
+    private void addAll(LongTopK<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.item(i), other.scores[i]);
+        }
+    }
+
+    private int rank(long a, long b) {
+        return largest ? Long.compare(a, b) : Long.compare(b, a);
+    }
+
+    @Override
+    int compareScores(int a, int b) {
+        return rank(scores[a], scores[b]);
+    }
+
+    @Override
+    void swapScores(int a, int b) {
+        final long score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    @Override
+    void growScores(int capacity) {
+        scores = Arrays.copyOf(scores, capacity);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store of {@code long}/{@code long} pairs in a memory-mapped file.
+ * <p>
+ * Records are fixed-width and are read in place, so reopening a store needs no deserialization.
+ * The file is mapped in segments, and its size is limited by disk rather than by the heap.
+ * Reads may run concurrently with each other, but not with appends.
+ * <p>
+ * The record count in the header is written after the records it covers, so a process that dies mid-append never
+ * exposes a half-written record when the file is reopened. This does not hold across an operating system crash,
+ * which may persist mapped pages in any order; call {@link #force()} after appending when that matters.
+ */
+public final class MappedLongPairStore implements Closeable {
+
+    private static final int MAGIC = 0x4c505331;
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SEGMENT_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+    private static final int HEADER_BYTES = 32;
+
+    static final int RECORD_BYTES = 16;
+    static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 22;
+    private static final int MAX_RECORDS_PER_SEGMENT = Integer.MAX_VALUE / RECORD_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int recordsPerSegment;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long size;
+    private boolean closed;
+
+    private MappedLongPairStore(FileChannel channel, MappedByteBuffer header, int recordsPerSegment, long size) {
+        this.channel = channel;
+        this.header = header;
+        this.recordsPerSegment = recordsPerSegment;
+        this.size = size;
+    }
+
+    /**
+     * Opens the store at {@code path}, creating it if it does not exist.
+     * An existing store keeps the segment size recorded in its header.
+     */
+    @NotNull
+    @Contract("null->fail")
+    public static MappedLongPairStore open(@NotNull @NonNull Path path) throws IOException {
+        return open(path, DEFAULT_RECORDS_PER_SEGMENT, false);
+    }
+
+    /**
+     * Opens the store at {@code path} with the given segment size. An existing store must have been created with
+     * the same segment size, otherwise {@link IllegalArgumentException} is thrown.
+     */
+    @NotNull
+    static MappedLongPairStore open(@NotNull Path path, int recordsPerSegment) throws IOException {
+        return open(path, recordsPerSegment, true);
+    }
+
+    @NotNull
+    private static MappedLongPairStore open(Path path, int recordsPerSegment, boolean strict) throws IOException {
+        if (recordsPerSegment <= 0 || recordsPerSegment > MAX_RECORDS_PER_SEGMENT) {
+            throw new IllegalArgumentException("records per segment out of range: " + recordsPerSegment);
+        }
+        final FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final boolean created = channel.size() == 0;
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (created) {
+                header.putInt(MAGIC_OFFSET, MAGIC);
+                header.putInt(VERSION_OFFSET, VERSION);
+                header.putInt(SEGMENT_OFFSET, recordsPerSegment);
+                header.putLong(SIZE_OFFSET, 0L);
+            } else if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("not a pair store: " + path);
+            } else if (header.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException("unsupported pair store version " + header.getInt(VERSION_OFFSET) + ": " + path);
+            }
+            final int storedRecordsPerSegment = header.getInt(SEGMENT_OFFSET);
+            final long size = header.getLong(SIZE_OFFSET);
+            if (storedRecordsPerSegment <= 0 || storedRecordsPerSegment > MAX_RECORDS_PER_SEGMENT) {
+                throw new IOException("corrupt pair store header, records per segment " + storedRecordsPerSegment + ": " + path);
+            }
+            if (strict && storedRecordsPerSegment != recordsPerSegment) {
+                throw new IllegalArgumentException("records per segment " + recordsPerSegment
+                        + " does not match stored " + storedRecordsPerSegment + ": " + path);
+            }
+            if (size < 0 || size > (channel.size() - HEADER_BYTES) / RECORD_BYTES) {
+                throw new IOException("corrupt pair store header, size " + size + " exceeds file length: " + path);
+            }
+            final MappedLongPairStore store = new MappedLongPairStore(channel, header, storedRecordsPerSegment, size);
+            store.mapSegmentsFor(store.size);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getLeft(long index) {
+        ensureOpen();
+        checkIndex(index);
+        return segment(index).getLong(offset(index));
+    }
+
+    public long getRight(long index) {
+        ensureOpen();
+        checkIndex(index);
+        return segment(index).getLong(offset(index) + 8);
+    }
+
+    @NotNull
+    public LongPair get(long index) {
+        ensureOpen();
+        checkIndex(index);
+        final MappedByteBuffer segment = segment(index);
+        final int offset = offset(index);
+        return new LongPair(segment.getLong(offset), segment.getLong(offset + 8));
+    }
+
+    public void append(long left, long right) throws IOException {
+        ensureOpen();
+        mapSegmentsFor(size + 1);
+        final MappedByteBuffer segment = segment(size);
+        final int offset = offset(size);
+        segment.putLong(offset, left);
+        segment.putLong(offset + 8, right);
+        size++;
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public void appendAll(@NotNull @NonNull long[] lefts, @NotNull @NonNull long[] rights) throws IOException {
+        Columns.checkSameLength(lefts.length, rights.length);
+        ensureOpen();
+        mapSegmentsFor(size + lefts.length);
+        long index = size;
+        for (int i = 0; i < lefts.length; i++, index++) {
+            final MappedByteBuffer segment = segment(index);
+            final int offset = offset(index);
+            segment.putLong(offset, lefts[i]);
+            segment.putLong(offset + 8, rights[i]);
+        }
+        size = index;
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    @Contract("null->fail")
+    public void forEach(@NotNull @NonNull LongPairList.LongLongConsumer consumer) {
+        ensureOpen();
+        final long size = this.size;
+        for (int s = 0; (long) s * recordsPerSegment < size; s++) {
+            final MappedByteBuffer segment = segments.get(s);
+            final int records = (int) Math.min(recordsPerSegment, size - (long) s * recordsPerSegment);
+            for (int r = 0, offset = 0; r < records; r++, offset += RECORD_BYTES) {
+                consumer.accept(segment.getLong(offset), segment.getLong(offset + 8));
+            }
+        }
+    }
+
+    public void force() {
+        ensureOpen();
+        force0();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            force0();
+            channel.close();
+        }
+    }
+
+    private void force0() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    private void mapSegmentsFor(long records) throws IOException {
+        final long segmentBytes = (long) recordsPerSegment * RECORD_BYTES;
+        while ((long) segments.size() * recordsPerSegment < records) {
+            final long position = HEADER_BYTES + segments.size() * segmentBytes;
+            final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentBytes);
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+            segments.add(segment);
+        }
+    }
+
+    private MappedByteBuffer segment(long index) {
+        return segments.get((int) (index / recordsPerSegment));
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerSegment) * RECORD_BYTES;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("store is closed");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+public final class MonoidCollectors {
+
+    private MonoidCollectors() {
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    public static <T> Collector<T, ?, First<T>> toFirst() {
+        return Collector.of(
+                FirstAccumulator<T>::new,
+                FirstAccumulator::appendNullable,
+                MonoidCollectors::combineFirst,
+                FirstAccumulator::toFirst);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T, R> Collector<T, ?, First<R>> toFirst(@NotNull @NonNull Function<? super T, ? extends Optional<R>> candidate) {
+        //noinspection Contract
+        return Collector.of(
+                FirstAccumulator<R>::new,
+                (acc, t) -> {
+                    if (acc.isEmpty()) {
+                        acc.append(candidate.apply(t));
+                    }
+                },
+                MonoidCollectors::combineFirst,
+                FirstAccumulator::toFirst);
+    }
+
+    @NotNull
+    @Contract(" -> !null")
+    public static <T> Collector<T, ?, Last<T>> toLast() {
+        return Collector.of(
+                LastAccumulator<T>::new,
+                LastAccumulator::appendNullable,
+                MonoidCollectors::combineLast,
+                LastAccumulator::toLast);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T, R> Collector<T, ?, Last<R>> toLast(@NotNull @NonNull Function<? super T, ? extends Optional<R>> candidate) {
+        //noinspection Contract
+        return Collector.of(
+                LastAccumulator<R>::new,
+                (acc, t) -> acc.append(candidate.apply(t)),
+                MonoidCollectors::combineLast,
+                LastAccumulator::toLast);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T, M extends Monoid<T, M>> Collector<M, ?, M> folding(@NotNull @NonNull Supplier<? extends M> identity) {
+        //noinspection Contract
+        return fold(identity, Function.identity());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T, M extends Monoid<T, M>> Collector<M, ?, M> foldingUnordered(@NotNull @NonNull Supplier<? extends M> identity) {
+        //noinspection Contract
+        return fold(identity, Function.identity(), Collector.Characteristics.UNORDERED);
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <E, T, M extends Monoid<T, M>> Collector<E, ?, M> foldMapping(
+            @NotNull @NonNull Supplier<? extends M> identity,
+            @NotNull @NonNull Function<? super E, ? extends M> mapper) {
+        //noinspection Contract
+        return fold(identity, mapper);
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <E, T, M extends Monoid<T, M>> Collector<E, ?, M> foldMappingUnordered(
+            @NotNull @NonNull Supplier<? extends M> identity,
+            @NotNull @NonNull Function<? super E, ? extends M> mapper) {
+        //noinspection Contract
+        return fold(identity, mapper, Collector.Characteristics.UNORDERED);
+    }
+
+    private static <E, T, M extends Monoid<T, M>> Collector<E, ?, M> fold(
+            Supplier<? extends M> identity,
+            Function<? super E, ? extends M> mapper,
+            Collector.Characteristics... characteristics) {
+        return Collector.<E, Box<M>, M>of(
+                () -> new Box<>(identity.get()),
+                (box, e) -> box.value = box.value.append(mapper.apply(e)),
+                (left, right) -> {
+                    left.value = left.value.append(right.value);
+                    return left;
+                },
+                box -> box.value,
+                characteristics);
+    }
+
+    private static <T> FirstAccumulator<T> combineFirst(FirstAccumulator<T> left, FirstAccumulator<T> right) {
+        return left.isEmpty() ? right : left;
+    }
+
+    private static <T> LastAccumulator<T> combineLast(LastAccumulator<T> left, LastAccumulator<T> right) {
+        return right.isEmpty() ? left : right;
+    }
+
+    private static final class Box<M> {
+        private M value;
+
+        private Box(M value) {
+            this.value = value;
+        }
+    }
+}
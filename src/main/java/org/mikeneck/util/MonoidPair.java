@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Two monoids folded together; {@link #append} combines them component-wise.
+ * For more components use {@link Product}.
+ */
+@Data
+public final class MonoidPair<A extends Monoid<?, A>, B extends Monoid<?, B>> implements Monoid<Pair<A, B>, MonoidPair<A, B>> {
+
+    private final A left;
+    private final B right;
+
+    public MonoidPair(@NotNull @NonNull A left, @NotNull @NonNull B right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <A extends Monoid<?, A>, B extends Monoid<?, B>> MonoidPair<A, B> of(@NotNull @NonNull A left, @NotNull @NonNull B right) {
+        return new MonoidPair<>(left, right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <A extends Monoid<?, A>, B extends Monoid<?, B>> MonoidPair<A, B> of(@NotNull @NonNull Pair<A, B> pair) {
+        return new MonoidPair<>(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Override
+    public MonoidPair<A, B> append(@NotNull @NonNull MonoidPair<A, B> other) {
+        return new MonoidPair<>(left.append(other.left), right.append(other.right));
+    }
+
+    @NotNull
+    public Pair<A, B> toPair() {
+        return new Pair<>(left, right);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Reduces arrays, lists and spliterators with {@link Monoid#append(Monoid)} on a fork/join pool.
+ * Partial results are always combined as {@code left.append(right)}, so encounter order is kept
+ * and non-commutative monoids such as {@link First} and {@link Last} give the sequential result.
+ */
+public final class MonoidReduction<M extends Monoid<?, M>> {
+
+    private static final int UNKNOWN_SIZE_CUTOFF = 1 << 10;
+
+    private final Supplier<? extends M> identity;
+    private final int cutoff;
+    private final ForkJoinPool pool;
+
+    private MonoidReduction(Supplier<? extends M> identity, int cutoff, ForkJoinPool pool) {
+        this.identity = identity;
+        this.cutoff = cutoff;
+        this.pool = pool;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <M extends Monoid<?, M>> MonoidReduction<M> withIdentity(@NotNull @NonNull Supplier<? extends M> identity) {
+        return new MonoidReduction<>(identity, 0, ForkJoinPool.commonPool());
+    }
+
+    @NotNull
+    public MonoidReduction<M> sequentialCutoff(int cutoff) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("cutoff must be positive: " + cutoff);
+        }
+        return new MonoidReduction<>(identity, cutoff, pool);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public MonoidReduction<M> on(@NotNull @NonNull ForkJoinPool pool) {
+        return new MonoidReduction<>(identity, cutoff, pool);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public M reduce(@NotNull @NonNull M[] values) {
+        return pool.invoke(new RangeTask(i -> values[i], 0, values.length, cutoffFor(values.length)));
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public <E> M reduce(@NotNull @NonNull E[] values, @NotNull @NonNull Function<? super E, ? extends M> mapper) {
+        return pool.invoke(new RangeTask(i -> mapper.apply(values[i]), 0, values.length, cutoffFor(values.length)));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public M reduce(@NotNull @NonNull List<? extends M> values) {
+        if (values instanceof RandomAccess) {
+            return pool.invoke(new RangeTask(values::get, 0, values.size(), cutoffFor(values.size())));
+        }
+        return reduce(values.spliterator());
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public <E> M reduce(@NotNull @NonNull List<? extends E> values, @NotNull @NonNull Function<? super E, ? extends M> mapper) {
+        if (values instanceof RandomAccess) {
+            return pool.invoke(new RangeTask(i -> mapper.apply(values.get(i)), 0, values.size(), cutoffFor(values.size())));
+        }
+        return reduce(values.spliterator(), mapper);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public M reduce(@NotNull @NonNull Spliterator<? extends M> values) {
+        return reduce(values, Function.identity());
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public <E> M reduce(@NotNull @NonNull Spliterator<? extends E> values, @NotNull @NonNull Function<? super E, ? extends M> mapper) {
+        final long size = values.getExactSizeIfKnown();
+        final long cutoff = size < 0 ? (this.cutoff == 0 ? UNKNOWN_SIZE_CUTOFF : this.cutoff) : cutoffFor(size);
+        return pool.invoke(new SpliteratorTask<>(values, mapper, cutoff));
+    }
+
+    private int cutoffFor(long size) {
+        if (cutoff != 0) {
+            return cutoff;
+        }
+        return (int) Math.max(1L, Math.min(Integer.MAX_VALUE, size / ((long) pool.getParallelism() << 2)));
+    }
+
+    private final class RangeTask extends RecursiveTask<M> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntFunction<? extends M> element;
+        private final int from;
+        private final int to;
+        private final int cutoff;
+
+        private RangeTask(IntFunction<? extends M> element, int from, int to, int cutoff) {
+            this.element = element;
+            this.from = from;
+            this.to = to;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected M compute() {
+            if (to - from <= cutoff) {
+                if (from == to) {
+                    return identity.get();
+                }
+                M result = element.apply(from);
+                for (int i = from + 1; i < to; i++) {
+                    result = result.append(element.apply(i));
+                }
+                return result;
+            }
+            final int middle = (from + to) >>> 1;
+            final RangeTask left = new RangeTask(element, from, middle, cutoff);
+            left.fork();
+            final M right = new RangeTask(element, middle, to, cutoff).compute();
+            return left.join().append(right);
+        }
+    }
+
+    private final class SpliteratorTask<E> extends RecursiveTask<M> implements Consumer<E> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<? extends E> spliterator;
+        private final Function<? super E, ? extends M> mapper;
+        private final long cutoff;
+        private M result;
+
+        private SpliteratorTask(Spliterator<? extends E> spliterator, Function<? super E, ? extends M> mapper, long cutoff) {
+            this.spliterator = spliterator;
+            this.mapper = mapper;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected M compute() {
+            final Spliterator<? extends E> prefix;
+            if (spliterator.estimateSize() <= cutoff || (prefix = spliterator.trySplit()) == null) {
+                spliterator.forEachRemaining(this);
+                return result == null ? identity.get() : result;
+            }
+            final SpliteratorTask<E> left = new SpliteratorTask<>(prefix, mapper, cutoff);
+            left.fork();
+            final M right = new SpliteratorTask<>(spliterator, mapper, cutoff).compute();
+            return left.join().append(right);
+        }
+
+        @Override
+        public void accept(E e) {
+            final M value = mapper.apply(e);
+            result = result == null ? value : result.append(value);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Range folds with {@link Monoid#append(Monoid)} over a fixed number of slots, with O(log n) point updates
+ * and range queries. Nodes live in one array laid out as an implicit binary tree.
+ */
+public final class MonoidSegmentTree<M extends Monoid<?, M>> {
+
+    private final M identity;
+    private final int size;
+    private final int leaves;
+    private final Object[] tree;
+
+    private MonoidSegmentTree(M identity, int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative: " + size);
+        }
+        this.identity = identity;
+        this.size = size;
+        this.leaves = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.tree = new Object[leaves << 1];
+        Arrays.fill(tree, identity);
+    }
+
+    @NotNull
+    @Contract("null,_->fail")
+    public static <M extends Monoid<?, M>> MonoidSegmentTree<M> of(@NotNull @NonNull M identity, int size) {
+        return new MonoidSegmentTree<>(identity, size);
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <M extends Monoid<?, M>> MonoidSegmentTree<M> of(@NotNull @NonNull M identity, @NotNull @NonNull List<? extends M> values) {
+        final MonoidSegmentTree<M> tree = new MonoidSegmentTree<>(identity, values.size());
+        int index = tree.leaves;
+        for (M value : values) {
+            tree.tree[index++] = requireValue(value);
+        }
+        for (int node = tree.leaves - 1; node > 0; node--) {
+            tree.pull(node);
+        }
+        return tree;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @NotNull
+    public M get(int index) {
+        Columns.checkIndex(index, size);
+        return node(leaves + index);
+    }
+
+    @Contract("_,null->fail")
+    public void set(int index, @NotNull @NonNull M value) {
+        Columns.checkIndex(index, size);
+        int node = leaves + index;
+        tree[node] = value;
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            pull(node);
+        }
+    }
+
+    @NotNull
+    public M query(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("range: [" + from + ", " + to + "), size: " + size);
+        }
+        M left = identity;
+        M right = identity;
+        for (int l = from + leaves, r = to + leaves; l < r; l >>>= 1, r >>>= 1) {
+            if ((l & 1) == 1) {
+                left = left.append(node(l++));
+            }
+            if ((r & 1) == 1) {
+                right = node(--r).append(right);
+            }
+        }
+        return left.append(right);
+    }
+
+    @NotNull
+    public M all() {
+        return node(1);
+    }
+
+    private void pull(int node) {
+        tree[node] = node(node << 1).append(node((node << 1) | 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private M node(int node) {
+        return (M) tree[node];
+    }
+
+    private static <M> M requireValue(M value) {
+        if (value == null) {
+            throw new NullPointerException("segment tree values must not be null");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
+
+@Data
+public class ObjDoublePair<L> {
+
+    private final L left;
+    private final double right;
+
+    public ObjDoublePair(@NotNull @NonNull L left, double right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjDoublePair<L> map(@NotNull @NonNull DoubleUnaryOperator function) {
+        return new ObjDoublePair<>(left, function.applyAsDouble(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjDoublePair<L> bimap(@NotNull @NonNull ObjDoubleToDoubleFunction<? super L> function) {
+        return new ObjDoublePair<>(left, function.applyAsDouble(left, right));
+    }
+
+    @NotNull
+    public DoubleObjPair<L> reverse() {
+        return new DoubleObjPair<>(right, left);
+    }
+
+    @NotNull
+    public Pair<L, Double> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @FunctionalInterface
+    public interface ObjDoubleToDoubleFunction<L> {
+        double applyAsDouble(L left, double right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> ObjDoublePair<L> of(@NotNull @NonNull Pair<L, Double> pair) {
+        return new ObjDoublePair<>(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> Function<L, ObjDoublePair<L>> mkPair(@NotNull @NonNull ToDoubleFunction<? super L> function) {
+        //noinspection Contract
+        return l -> new ObjDoublePair<>(l, function.applyAsDouble(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> UnaryOperator<ObjDoublePair<L>> mapPair(@NotNull @NonNull DoubleUnaryOperator function) {
+        //noinspection Contract
+        return p -> new ObjDoublePair<>(p.left, function.applyAsDouble(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> UnaryOperator<ObjDoublePair<L>> bimapPair(@NotNull @NonNull ObjDoubleToDoubleFunction<? super L> function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.UnaryOperator;
+
+@Data
+public class ObjIntPair<L> {
+
+    private final L left;
+    private final int right;
+
+    public ObjIntPair(@NotNull @NonNull L left, int right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjIntPair<L> map(@NotNull @NonNull IntUnaryOperator function) {
+        return new ObjIntPair<>(left, function.applyAsInt(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjIntPair<L> bimap(@NotNull @NonNull ObjIntToIntFunction<? super L> function) {
+        return new ObjIntPair<>(left, function.applyAsInt(left, right));
+    }
+
+    @NotNull
+    public IntObjPair<L> reverse() {
+        return new IntObjPair<>(right, left);
+    }
+
+    @NotNull
+    public Pair<L, Integer> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @FunctionalInterface
+    public interface ObjIntToIntFunction<L> {
+        int applyAsInt(L left, int right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> ObjIntPair<L> of(@NotNull @NonNull Pair<L, Integer> pair) {
+        return new ObjIntPair<>(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> Function<L, ObjIntPair<L>> mkPair(@NotNull @NonNull ToIntFunction<? super L> function) {
+        //noinspection Contract
+        return l -> new ObjIntPair<>(l, function.applyAsInt(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> UnaryOperator<ObjIntPair<L>> mapPair(@NotNull @NonNull IntUnaryOperator function) {
+        //noinspection Contract
+        return p -> new ObjIntPair<>(p.left, function.applyAsInt(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> UnaryOperator<ObjIntPair<L>> bimapPair(@NotNull @NonNull ObjIntToIntFunction<? super L> function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.UnaryOperator;
+
+@Data
+public class ObjLongPair<L> {
+
+    private final L left;
+    private final long right;
+
+    public ObjLongPair(@NotNull @NonNull L left, long right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjLongPair<L> map(@NotNull @NonNull LongUnaryOperator function) {
+        return new ObjLongPair<>(left, function.applyAsLong(right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjLongPair<L> bimap(@NotNull @NonNull ObjLongToLongFunction<? super L> function) {
+        return new ObjLongPair<>(left, function.applyAsLong(left, right));
+    }
+
+    @NotNull
+    public LongObjPair<L> reverse() {
+        return new LongObjPair<>(right, left);
+    }
+
+    @NotNull
+    public Pair<L, Long> toPair() {
+        return new Pair<>(left, right);
+    }
+
+    @FunctionalInterface
+    public interface ObjLongToLongFunction<L> {
+        long applyAsLong(L left, long right);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> ObjLongPair<L> of(@NotNull @NonNull Pair<L, Long> pair) {
+        return new ObjLongPair<>(pair.getLeft(), pair.getRight());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> Function<L, ObjLongPair<L>> mkPair(@NotNull @NonNull ToLongFunction<? super L> function) {
+        //noinspection Contract
+        return l -> new ObjLongPair<>(l, function.applyAsLong(l));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> UnaryOperator<ObjLongPair<L>> mapPair(@NotNull @NonNull LongUnaryOperator function) {
+        //noinspection Contract
+        return p -> new ObjLongPair<>(p.left, function.applyAsLong(p.right));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L> UnaryOperator<ObjLongPair<L>> bimapPair(@NotNull @NonNull ObjLongToLongFunction<? super L> function) {
+        //noinspection Contract
+        return p -> p.bimap(function);
+    }
+}
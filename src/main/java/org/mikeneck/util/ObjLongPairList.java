@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.RandomAccess;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Stores object/long pairs as an object column and a primitive column.
+ * {@link ObjLongPair} instances are created only by {@link #get(int)} and iteration.
+ */
+public class ObjLongPairList<L> extends AbstractList<ObjLongPair<L>> implements RandomAccess {
+
+    private Object[] lefts;
+    private long[] rights;
+    private int size;
+
+    public ObjLongPairList() {
+        this(10);
+    }
+
+    public ObjLongPairList(int capacity) {
+        this(new Object[capacity], new long[capacity], 0);
+    }
+
+    private ObjLongPairList(Object[] lefts, long[] rights, int size) {
+        this.lefts = lefts;
+        this.rights = rights;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @NotNull
+    @Override
+    public ObjLongPair<L> get(int index) {
+        Columns.checkIndex(index, size);
+        return new ObjLongPair<>(left(index), rights[index]);
+    }
+
+    @NotNull
+    public L getLeft(int index) {
+        Columns.checkIndex(index, size);
+        return left(index);
+    }
+
+    public long getRight(int index) {
+        Columns.checkIndex(index, size);
+        return rights[index];
+    }
+
+    @NotNull
+    @Override
+    public ObjLongPair<L> set(int index, @NotNull @NonNull ObjLongPair<L> pair) {
+        final ObjLongPair<L> old = get(index);
+        lefts[index] = pair.getLeft();
+        rights[index] = pair.getRight();
+        return old;
+    }
+
+    @Override
+    public boolean add(@NotNull @NonNull ObjLongPair<L> pair) {
+        add(pair.getLeft(), pair.getRight());
+        return true;
+    }
+
+    @Contract("null,_->fail")
+    public void add(@NotNull @NonNull L left, long right) {
+        ensureCapacity(size + 1);
+        lefts[size] = left;
+        rights[size] = right;
+        size++;
+        modCount++;
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public void addAll(@NotNull @NonNull L[] lefts, @NotNull @NonNull long[] rights) {
+        Columns.checkSameLength(lefts.length, rights.length);
+        for (int i = 0; i < lefts.length; i++) {
+            if (lefts[i] == null) {
+                throw new NullPointerException("pair at " + i + " has a null left side");
+            }
+        }
+        ensureCapacity(size + lefts.length);
+        System.arraycopy(lefts, 0, this.lefts, size, lefts.length);
+        System.arraycopy(rights, 0, this.rights, size, rights.length);
+        size += lefts.length;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(lefts, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > lefts.length) {
+            final int grown = Columns.grow(lefts.length, capacity);
+            lefts = Arrays.copyOf(lefts, grown);
+            rights = Arrays.copyOf(rights, grown);
+        }
+    }
+
+    @Contract("null->fail")
+    public void sortByLeft(@NotNull @NonNull Comparator<? super L> comparator) {
+        sort(Columns.order(size, (i, j) -> comparator.compare(left(i), left(j))));
+    }
+
+    public void sortByRight() {
+        sort(Columns.order(size, (i, j) -> Long.compare(rights[i], rights[j])));
+    }
+
+    private void sort(int[] order) {
+        lefts = Columns.permute(lefts, order);
+        rights = Columns.permute(rights, order);
+        modCount++;
+    }
+
+    @Contract("_,null->fail")
+    @SuppressWarnings("unchecked")
+    public int binarySearchLeft(@NotNull L key, @NotNull @NonNull Comparator<? super L> comparator) {
+        return Arrays.binarySearch((L[]) lefts, 0, size, key, comparator);
+    }
+
+    public int binarySearchRight(long key) {
+        return Arrays.binarySearch(rights, 0, size, key);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjLongPairList<L> map(@NotNull @NonNull LongUnaryOperator function) {
+        final long[] mapped = new long[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = function.applyAsLong(rights[i]);
+        }
+        return new ObjLongPairList<>(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public ObjLongPairList<L> bimap(@NotNull @NonNull ObjLongPair.ObjLongToLongFunction<? super L> function) {
+        final long[] mapped = new long[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = function.applyAsLong(left(i), rights[i]);
+        }
+        return new ObjLongPairList<>(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @Contract("null->fail")
+    public void forEachPair(@NotNull @NonNull ObjLongConsumer<? super L> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(left(i), rights[i]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private L left(int index) {
+        return (L) lefts[index];
+    }
+}
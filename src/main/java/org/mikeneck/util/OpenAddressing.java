@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+final class OpenAddressing {
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private OpenAddressing() {
+    }
+
+    /**
+     * Returns the power-of-two table length that holds {@code expectedSize} entries below the load limit.
+     */
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expected size must not be negative: " + expectedSize);
+        }
+        final long required = Math.max(4L, (long) expectedSize * 4 / 3 + 1);
+        if (required > MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    static boolean isFull(int size, int capacity) {
+        if (capacity == MAXIMUM_CAPACITY && size >= capacity - 1) {
+            throw new IllegalStateException("table is full");
+        }
+        return size * 4L >= capacity * 3L;
+    }
+
+    static int mix(int hash) {
+        final int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        final long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Whether the entry at {@code slot}, whose home slot is {@code home}, may be shifted back into {@code gap}.
+     */
+    static boolean canShift(int home, int gap, int slot, int mask) {
+        return ((slot - home) & mask) >= ((slot - gap) & mask);
+    }
+}
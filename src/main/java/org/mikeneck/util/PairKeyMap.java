@@ -0,0 +1,296 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+/**
+ * Open-addressing hash map keyed by the two components of a {@link Pair}.
+ * Lookups take the components directly, so probing allocates nothing, and key hashes are computed once on insertion.
+ * A {@link Pair} key is created only when {@link #getKey(Object, Object)} asks for it, and is then kept and shared.
+ * Values must not be {@code null}; {@code null} results mean the key is absent.
+ */
+public class PairKeyMap<L, R, V> {
+
+    private Object[] lefts;
+    private Object[] rights;
+    private Object[] values;
+    private Pair<?, ?>[] keys;
+    private int[] hashes;
+    private int size;
+
+    public PairKeyMap() {
+        this(8);
+    }
+
+    public PairKeyMap(int expectedSize) {
+        allocate(OpenAddressing.capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Nullable
+    @Contract("null,_->fail;_,null->fail")
+    public V get(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        final int slot = find(left, right, hash(left, right));
+        return slot < 0 ? null : value(slot);
+    }
+
+    @NotNull
+    @Contract("null,_,_->fail;_,null,_->fail;_,_,null->fail")
+    public V getOrDefault(@NotNull @NonNull L left, @NotNull @NonNull R right, @NotNull @NonNull V defaultValue) {
+        final V value = get(left, right);
+        return value == null ? defaultValue : value;
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public boolean containsKey(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        return find(left, right, hash(left, right)) >= 0;
+    }
+
+    /**
+     * Returns the stored key equal to {@code (left, right)}, creating and keeping it on first request.
+     */
+    @Nullable
+    @Contract("null,_->fail;_,null->fail")
+    public Pair<L, R> getKey(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        final int slot = find(left, right, hash(left, right));
+        return slot < 0 ? null : key(slot);
+    }
+
+    @Nullable
+    @Contract("null,_,_->fail;_,null,_->fail;_,_,null->fail")
+    public V put(@NotNull @NonNull L left, @NotNull @NonNull R right, @NotNull @NonNull V value) {
+        return put(left, right, null, value, true);
+    }
+
+    /**
+     * Puts {@code value}, keeping {@code key} as the stored key when the components are not present yet.
+     */
+    @Nullable
+    @Contract("null,_->fail;_,null->fail")
+    public V put(@NotNull @NonNull Pair<L, R> key, @NotNull @NonNull V value) {
+        return put(key.getLeft(), key.getRight(), key, value, true);
+    }
+
+    @Nullable
+    @Contract("null,_,_->fail;_,null,_->fail;_,_,null->fail")
+    public V putIfAbsent(@NotNull @NonNull L left, @NotNull @NonNull R right, @NotNull @NonNull V value) {
+        return put(left, right, null, value, false);
+    }
+
+    @NotNull
+    @Contract("null,_,_->fail;_,null,_->fail;_,_,null->fail")
+    public V computeIfAbsent(
+            @NotNull @NonNull L left,
+            @NotNull @NonNull R right,
+            @NotNull @NonNull BiFunction<? super L, ? super R, ? extends V> function) {
+        final int hash = hash(left, right);
+        final int slot = find(left, right, hash);
+        if (slot >= 0) {
+            return value(slot);
+        }
+        final V value = function.apply(left, right);
+        if (value == null) {
+            throw new NullPointerException("computed value must not be null");
+        }
+        insert(left, right, null, value, hash);
+        return value;
+    }
+
+    @Nullable
+    @Contract("null,_->fail;_,null->fail")
+    public V remove(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        final int slot = find(left, right, hash(left, right));
+        if (slot < 0) {
+            return null;
+        }
+        final V old = value(slot);
+        delete(slot);
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(lefts, null);
+        Arrays.fill(rights, null);
+        Arrays.fill(values, null);
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    @Contract("null->fail")
+    public void forEach(@NotNull @NonNull EntryConsumer<? super L, ? super R, ? super V> consumer) {
+        final Object[] lefts = this.lefts;
+        for (int slot = 0; slot < lefts.length; slot++) {
+            if (lefts[slot] != null) {
+                consumer.accept(left(slot), right(slot), value(slot));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<L, R, V> {
+        void accept(L left, R right, V value);
+    }
+
+    Pair<L, R> intern(L left, R right, Pair<L, R> key, V value) {
+        final int hash = hash(left, right);
+        int slot = find(left, right, hash);
+        if (slot < 0) {
+            slot = insert(left, right, key, value, hash);
+        }
+        return key(slot);
+    }
+
+    private V put(L left, R right, Pair<L, R> key, V value, boolean replace) {
+        final int hash = hash(left, right);
+        final int slot = find(left, right, hash);
+        if (slot < 0) {
+            insert(left, right, key, value, hash);
+            return null;
+        }
+        final V old = value(slot);
+        if (replace) {
+            values[slot] = value;
+        }
+        return old;
+    }
+
+    private int find(Object left, Object right, int hash) {
+        final Object[] lefts = this.lefts;
+        final int mask = lefts.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final Object candidate = lefts[slot];
+            if (candidate == null) {
+                return -1;
+            }
+            if (hashes[slot] == hash && candidate.equals(left) && rights[slot].equals(right)) {
+                return slot;
+            }
+        }
+    }
+
+    private int insert(L left, R right, Pair<L, R> key, V value, int hash) {
+        if (OpenAddressing.isFull(size + 1, lefts.length)) {
+            resize(lefts.length << 1);
+        }
+        final int mask = lefts.length - 1;
+        int slot = hash & mask;
+        while (lefts[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        lefts[slot] = left;
+        rights[slot] = right;
+        values[slot] = value;
+        keys[slot] = key;
+        hashes[slot] = hash;
+        size++;
+        return slot;
+    }
+
+    private void delete(int slot) {
+        final int mask = lefts.length - 1;
+        int gap = slot;
+        for (int current = (gap + 1) & mask; lefts[current] != null; current = (current + 1) & mask) {
+            if (OpenAddressing.canShift(hashes[current] & mask, gap, current, mask)) {
+                lefts[gap] = lefts[current];
+                rights[gap] = rights[current];
+                values[gap] = values[current];
+                keys[gap] = keys[current];
+                hashes[gap] = hashes[current];
+                gap = current;
+            }
+        }
+        lefts[gap] = null;
+        rights[gap] = null;
+        values[gap] = null;
+        keys[gap] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        final Object[] oldLefts = lefts;
+        final Object[] oldRights = rights;
+        final Object[] oldValues = values;
+        final Pair<?, ?>[] oldKeys = keys;
+        final int[] oldHashes = hashes;
+        allocate(capacity);
+        final int mask = capacity - 1;
+        for (int old = 0; old < oldLefts.length; old++) {
+            if (oldLefts[old] == null) {
+                continue;
+            }
+            int slot = oldHashes[old] & mask;
+            while (lefts[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            lefts[slot] = oldLefts[old];
+            rights[slot] = oldRights[old];
+            values[slot] = oldValues[old];
+            keys[slot] = oldKeys[old];
+            hashes[slot] = oldHashes[old];
+        }
+    }
+
+    private void allocate(int capacity) {
+        lefts = new Object[capacity];
+        rights = new Object[capacity];
+        values = new Object[capacity];
+        keys = new Pair<?, ?>[capacity];
+        hashes = new int[capacity];
+    }
+
+    private static int hash(Object left, Object right) {
+        return OpenAddressing.mix(left.hashCode() * 59 + right.hashCode());
+    }
+
+    @SuppressWarnings("unchecked")
+    private L left(int slot) {
+        return (L) lefts[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private R right(int slot) {
+        return (R) rights[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Pair<L, R> key(int slot) {
+        Pair<L, R> key = (Pair<L, R>) keys[slot];
+        if (key == null) {
+            key = new Pair<>(left(slot), right(slot));
+            keys[slot] = key;
+        }
+        return key;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Set of two-part keys backed by {@link PairKeyMap}, with interning of {@link Pair} instances.
+ */
+public class PairKeySet<L, R> {
+
+    private final PairKeyMap<L, R, Boolean> map;
+
+    public PairKeySet() {
+        this(8);
+    }
+
+    public PairKeySet(int expectedSize) {
+        this.map = new PairKeyMap<>(expectedSize);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public boolean contains(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        return map.containsKey(left, right);
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public boolean add(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        return map.putIfAbsent(left, right, Boolean.TRUE) == null;
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public boolean remove(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        return map.remove(left, right) != null;
+    }
+
+    /**
+     * Returns the stored pair equal to {@code (left, right)}, adding one if there is none.
+     */
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public Pair<L, R> intern(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        return map.intern(left, right, null, Boolean.TRUE);
+    }
+
+    /**
+     * Returns the stored pair equal to {@code pair}, adding {@code pair} itself if there is none.
+     */
+    @NotNull
+    @Contract("null->fail")
+    public Pair<L, R> intern(@NotNull @NonNull Pair<L, R> pair) {
+        return map.intern(pair.getLeft(), pair.getRight(), pair, Boolean.TRUE);
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    @Contract("null->fail")
+    public void forEach(@NotNull @NonNull BiConsumer<? super L, ? super R> consumer) {
+        map.forEach((left, right, present) -> consumer.accept(left, right));
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Stores pairs as two columns. {@link Pair} instances are created only by {@link #get(int)} and iteration.
+ */
+public class PairList<L, R> extends AbstractList<Pair<L, R>> implements RandomAccess {
+
+    private Object[] lefts;
+    private Object[] rights;
+    private int size;
+
+    public PairList() {
+        this(10);
+    }
+
+    public PairList(int capacity) {
+        this(new Object[capacity], new Object[capacity], 0);
+    }
+
+    private PairList(Object[] lefts, Object[] rights, int size) {
+        this.lefts = lefts;
+        this.rights = rights;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @NotNull
+    @Override
+    public Pair<L, R> get(int index) {
+        Columns.checkIndex(index, size);
+        return new Pair<>(left(index), right(index));
+    }
+
+    @NotNull
+    public L getLeft(int index) {
+        Columns.checkIndex(index, size);
+        return left(index);
+    }
+
+    @NotNull
+    public R getRight(int index) {
+        Columns.checkIndex(index, size);
+        return right(index);
+    }
+
+    @NotNull
+    @Override
+    public Pair<L, R> set(int index, @NotNull @NonNull Pair<L, R> pair) {
+        final Pair<L, R> old = get(index);
+        lefts[index] = pair.getLeft();
+        rights[index] = pair.getRight();
+        return old;
+    }
+
+    @Override
+    public boolean add(@NotNull @NonNull Pair<L, R> pair) {
+        add(pair.getLeft(), pair.getRight());
+        return true;
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public void add(@NotNull @NonNull L left, @NotNull @NonNull R right) {
+        ensureCapacity(size + 1);
+        lefts[size] = left;
+        rights[size] = right;
+        size++;
+        modCount++;
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public void addAll(@NotNull @NonNull L[] lefts, @NotNull @NonNull R[] rights) {
+        Columns.checkSameLength(lefts.length, rights.length);
+        for (int i = 0; i < lefts.length; i++) {
+            if (lefts[i] == null || rights[i] == null) {
+                throw new NullPointerException("pair at " + i + " has a null side");
+            }
+        }
+        ensureCapacity(size + lefts.length);
+        System.arraycopy(lefts, 0, this.lefts, size, lefts.length);
+        System.arraycopy(rights, 0, this.rights, size, rights.length);
+        size += lefts.length;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(lefts, 0, size, null);
+        Arrays.fill(rights, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > lefts.length) {
+            final int grown = Columns.grow(lefts.length, capacity);
+            lefts = Arrays.copyOf(lefts, grown);
+            rights = Arrays.copyOf(rights, grown);
+        }
+    }
+
+    @Contract("null->fail")
+    public void sortByLeft(@NotNull @NonNull Comparator<? super L> comparator) {
+        sort(Columns.order(size, (i, j) -> comparator.compare(left(i), left(j))));
+    }
+
+    @Contract("null->fail")
+    public void sortByRight(@NotNull @NonNull Comparator<? super R> comparator) {
+        sort(Columns.order(size, (i, j) -> comparator.compare(right(i), right(j))));
+    }
+
+    private void sort(int[] order) {
+        lefts = Columns.permute(lefts, order);
+        rights = Columns.permute(rights, order);
+        modCount++;
+    }
+
+    @Contract("_,null->fail")
+    @SuppressWarnings("unchecked")
+    public int binarySearchLeft(@NotNull L key, @NotNull @NonNull Comparator<? super L> comparator) {
+        return Arrays.binarySearch((L[]) lefts, 0, size, key, comparator);
+    }
+
+    @Contract("_,null->fail")
+    @SuppressWarnings("unchecked")
+    public int binarySearchRight(@NotNull R key, @NotNull @NonNull Comparator<? super R> comparator) {
+        return Arrays.binarySearch((R[]) rights, 0, size, key, comparator);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> PairList<L, N> map(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        final Object[] mapped = new Object[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = Objects.requireNonNull(function.apply(right(i)));
+        }
+        return new PairList<>(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <N> PairList<L, N> bimap(@NotNull @NonNull BiFunction<? super L, ? super R, ? extends N> function) {
+        final Object[] mapped = new Object[size];
+        for (int i = 0; i < size; i++) {
+            mapped[i] = Objects.requireNonNull(function.apply(left(i), right(i)));
+        }
+        return new PairList<>(Arrays.copyOf(lefts, size), mapped, size);
+    }
+
+    @NotNull
+    public PairList<R, L> reverse() {
+        return new PairList<>(Arrays.copyOf(rights, size), Arrays.copyOf(lefts, size), size);
+    }
+
+    @Contract("null->fail")
+    public void forEachPair(@NotNull @NonNull BiConsumer<? super L, ? super R> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(left(i), right(i));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private L left(int index) {
+        return (L) lefts[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private R right(int index) {
+        return (R) rights[index];
+    }
+}
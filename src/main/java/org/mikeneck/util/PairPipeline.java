@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Fuses {@link Pair#mkPair(Function)}, {@link Pair#mapPair(Function)}, {@link Pair#bimapPair(BiFunction)}
+ * and filtering into one function over the left value.
+ * No {@link Pair} is created unless {@link #toPair()} is used.
+ * As with {@link Optional#map(Function)}, a stage returning {@code null} filters the value out.
+ */
+public final class PairPipeline<L, R> {
+
+    private static final Object FILTERED = new Object();
+
+    private final Function<? super L, ?> right;
+
+    private PairPipeline(Function<? super L, ?> right) {
+        this.right = right;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <L, R> PairPipeline<L, R> mkPair(@NotNull @NonNull Function<? super L, ? extends R> function) {
+        return new PairPipeline<>(l -> orFiltered(function.apply(l)));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    @SuppressWarnings("unchecked")
+    public <N> PairPipeline<L, N> mapPair(@NotNull @NonNull Function<? super R, ? extends N> function) {
+        final Function<? super L, ?> previous = right;
+        return new PairPipeline<>(l -> {
+            final Object r = previous.apply(l);
+            return r == FILTERED ? FILTERED : orFiltered(function.apply((R) r));
+        });
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    @SuppressWarnings("unchecked")
+    public <N> PairPipeline<L, N> bimapPair(@NotNull @NonNull BiFunction<? super L, ? super R, ? extends N> function) {
+        final Function<? super L, ?> previous = right;
+        return new PairPipeline<>(l -> {
+            final Object r = previous.apply(l);
+            return r == FILTERED ? FILTERED : orFiltered(function.apply(l, (R) r));
+        });
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    @SuppressWarnings("unchecked")
+    public PairPipeline<L, R> filter(@NotNull @NonNull BiPredicate<? super L, ? super R> condition) {
+        final Function<? super L, ?> previous = right;
+        return new PairPipeline<>(l -> {
+            final Object r = previous.apply(l);
+            return r == FILTERED || !condition.test(l, (R) r) ? FILTERED : r;
+        });
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public PairPipeline<L, R> filterRight(@NotNull @NonNull Predicate<? super R> condition) {
+        return filter((l, r) -> condition.test(r));
+    }
+
+    @NotNull
+    public Predicate<L> asPredicate() {
+        final Function<? super L, ?> right = this.right;
+        return l -> right.apply(l) != FILTERED;
+    }
+
+    @NotNull
+    public Function<L, Optional<L>> left() {
+        final Function<? super L, ?> right = this.right;
+        return l -> right.apply(l) == FILTERED ? Optional.empty() : Optional.of(l);
+    }
+
+    @NotNull
+    public Function<L, Optional<R>> right() {
+        return project((l, r) -> r);
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    @SuppressWarnings("unchecked")
+    public <X> Function<L, Optional<X>> project(@NotNull @NonNull BiFunction<? super L, ? super R, ? extends X> projection) {
+        final Function<? super L, ?> right = this.right;
+        return l -> {
+            final Object r = right.apply(l);
+            return r == FILTERED ? Optional.empty() : Optional.ofNullable(projection.apply(l, (R) r));
+        };
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    @SuppressWarnings("unchecked")
+    public <X> Function<L, X> project(
+            @NotNull @NonNull BiFunction<? super L, ? super R, ? extends X> projection,
+            @NotNull @NonNull Function<? super L, ? extends X> otherwise) {
+        final Function<? super L, ?> right = this.right;
+        return l -> {
+            final Object r = right.apply(l);
+            return r == FILTERED ? otherwise.apply(l) : projection.apply(l, (R) r);
+        };
+    }
+
+    @NotNull
+    public Function<L, Optional<Pair<L, R>>> toPair() {
+        return project(Pair::new);
+    }
+
+    private static Object orFiltered(Object value) {
+        return value == null ? FILTERED : value;
+    }
+}
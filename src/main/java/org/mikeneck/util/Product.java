@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Any number of monoids folded together in one flat array, so that a single pass computes every aggregate.
+ * Components are declared as {@link Slot}s of a {@link Schema}; {@link #append} combines them component-wise
+ * into one new array, and {@link Schema#collector()} updates the components of a single product in place.
+ */
+public final class Product<E> implements Monoid<E, Product<E>> {
+
+    private final Schema<E> schema;
+    private final Object[] components;
+
+    private Product(Schema<E> schema, Object[] components) {
+        this.schema = schema;
+        this.components = components;
+    }
+
+    @NotNull
+    public static <E> Schema<E> schema() {
+        return new Schema<>();
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <M extends Monoid<?, M>> M get(@NotNull @NonNull Slot<M> slot) {
+        return slot.cast(components[schema.indexOf(slot)]);
+    }
+
+    public int size() {
+        return components.length;
+    }
+
+    @NotNull
+    @Override
+    public Product<E> append(@NotNull @NonNull Product<E> other) {
+        schema.check(other.schema);
+        final Object[] merged = new Object[components.length];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = combine(components[i], other.components[i]);
+        }
+        return new Product<>(schema, merged);
+    }
+
+    private void accumulate(E element) {
+        final Function<? super E, ?>[] lifts = schema.layout().lifts;
+        for (int i = 0; i < components.length; i++) {
+            components[i] = combine(components[i], lifts[i].apply(element));
+        }
+    }
+
+    private Product<E> combineInPlace(Product<E> other) {
+        for (int i = 0; i < components.length; i++) {
+            components[i] = combine(components[i], other.components[i]);
+        }
+        return this;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object combine(Object left, Object right) {
+        return ((Monoid) left).append((Monoid) right);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Product)) {
+            return false;
+        }
+        final Product<?> that = (Product<?>) o;
+        return schema == that.schema && Arrays.equals(components, that.components);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(components);
+    }
+
+    @Override
+    public String toString() {
+        return "Product" + Arrays.toString(components);
+    }
+
+    /**
+     * The components of a product, declared once before the first product is created.
+     */
+    public static final class Schema<E> {
+
+        private final List<Supplier<?>> identities = new ArrayList<>();
+        private final List<Function<? super E, ?>> lifts = new ArrayList<>();
+        private volatile Layout<E> layout;
+
+        private Schema() {
+        }
+
+        /**
+         * Declares a component with its identity and how an element becomes a value of it.
+         *
+         * @throws IllegalStateException if a product of this schema has already been created.
+         */
+        @NotNull
+        @Contract("null,_->fail;_,null->fail")
+        public synchronized <M extends Monoid<?, M>> Slot<M> slot(
+                @NotNull @NonNull Supplier<? extends M> identity,
+                @NotNull @NonNull Function<? super E, ? extends M> lift) {
+            if (layout != null) {
+                throw new IllegalStateException("schema is already in use");
+            }
+            identities.add(identity);
+            lifts.add(lift);
+            return new Slot<>(this, identities.size() - 1);
+        }
+
+        public int size() {
+            return layout().identities.length;
+        }
+
+        @NotNull
+        public Product<E> identity() {
+            final Supplier<?>[] identities = layout().identities;
+            final Object[] components = new Object[identities.length];
+            for (int i = 0; i < components.length; i++) {
+                components[i] = identities[i].get();
+            }
+            return new Product<>(this, components);
+        }
+
+        @NotNull
+        @Contract("null->fail")
+        public Product<E> lift(@NotNull @NonNull E element) {
+            final Function<? super E, ?>[] lifts = layout().lifts;
+            final Object[] components = new Object[lifts.length];
+            for (int i = 0; i < components.length; i++) {
+                components[i] = lifts[i].apply(element);
+            }
+            return new Product<>(this, components);
+        }
+
+        /**
+         * Folds elements into one product per container, appending to its components in place.
+         */
+        @NotNull
+        public Collector<E, ?, Product<E>> collector() {
+            return Collector.of(this::identity, Product::accumulate, Product::combineInPlace);
+        }
+
+        private int indexOf(Slot<?> slot) {
+            check(slot.schema);
+            return slot.index;
+        }
+
+        private void check(Schema<?> other) {
+            if (other != this) {
+                throw new IllegalArgumentException("belongs to another schema");
+            }
+        }
+
+        private Layout<E> layout() {
+            final Layout<E> current = layout;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (layout == null) {
+                    layout = new Layout<>(identities, lifts);
+                }
+                return layout;
+            }
+        }
+    }
+
+    /**
+     * A typed handle to one component of the products of a schema.
+     */
+    public static final class Slot<M extends Monoid<?, M>> {
+
+        private final Schema<?> schema;
+        private final int index;
+
+        private Slot(Schema<?> schema, int index) {
+            this.schema = schema;
+            this.index = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        private M cast(Object component) {
+            return (M) component;
+        }
+    }
+
+    private static final class Layout<E> {
+
+        private final Supplier<?>[] identities;
+        private final Function<? super E, ?>[] lifts;
+
+        @SuppressWarnings("unchecked")
+        private Layout(List<Supplier<?>> identities, List<Function<? super E, ?>> lifts) {
+            this.identities = identities.toArray(new Supplier<?>[0]);
+            this.lifts = (Function<? super E, ?>[]) lifts.toArray(new Function<?, ?>[0]);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates a chain of {@link First#append(Supplier)} candidates speculatively.
+ * The first candidate runs on the calling thread while the others run on the executor;
+ * the result is still the highest-priority present candidate, and lower-priority tasks are
+ * cancelled (with interruption) as soon as it is known.
+ */
+public final class SpeculativeFirst<T> {
+
+    private final Executor executor;
+    private final List<Supplier<? extends Optional<T>>> candidates;
+
+    private SpeculativeFirst(Executor executor, List<Supplier<? extends Optional<T>>> candidates) {
+        this.executor = executor;
+        this.candidates = candidates;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <T> SpeculativeFirst<T> on(@NotNull @NonNull Executor executor) {
+        return new SpeculativeFirst<>(executor, Collections.emptyList());
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public SpeculativeFirst<T> append(@NotNull @NonNull Supplier<? extends Optional<T>> candidate) {
+        final List<Supplier<? extends Optional<T>>> appended = new ArrayList<>(candidates.size() + 1);
+        appended.addAll(candidates);
+        appended.add(candidate);
+        return new SpeculativeFirst<>(executor, appended);
+    }
+
+    @NotNull
+    public First<T> evaluate() {
+        final int size = candidates.size();
+        if (size == 0) {
+            return First.empty();
+        }
+        final List<FutureTask<Optional<T>>> tasks = submitSpeculations();
+        int settled = 0;
+        try {
+            final Optional<T> head = candidates.get(0).get();
+            if (head.isPresent()) {
+                return First.of(head);
+            }
+            for (settled = 1; settled < size; settled++) {
+                final Optional<T> candidate = await(settled, tasks.get(settled));
+                if (candidate.isPresent()) {
+                    return First.of(candidate);
+                }
+            }
+            return First.empty();
+        } finally {
+            for (int i = settled + 1; i < size; i++) {
+                final FutureTask<Optional<T>> task = tasks.get(i);
+                if (task != null) {
+                    task.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns one task per candidate, with {@code null} for the first candidate and for any the executor rejected.
+     */
+    private List<FutureTask<Optional<T>>> submitSpeculations() {
+        final List<FutureTask<Optional<T>>> tasks = new ArrayList<>(candidates.size());
+        tasks.add(null);
+        for (int i = 1; i < candidates.size(); i++) {
+            final Supplier<? extends Optional<T>> candidate = candidates.get(i);
+            final FutureTask<Optional<T>> task = new FutureTask<>(candidate::get);
+            try {
+                executor.execute(task);
+                tasks.add(task);
+            } catch (RejectedExecutionException e) {
+                tasks.add(null);
+            }
+        }
+        return tasks;
+    }
+
+    private Optional<T> await(int position, FutureTask<Optional<T>> task) {
+        if (task == null) {
+            return candidates.get(position).get();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final CancellationException cancelled = new CancellationException("interrupted while waiting for candidate " + position);
+            cancelled.initCause(e);
+            throw cancelled;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes and reads rows that {@link HashJoin} spills to temporary files.
+ */
+public interface SpillCodec<T> {
+
+    void write(@NotNull DataOutput out, @NotNull T value) throws IOException;
+
+    @NotNull
+    T read(@NotNull DataInput in) throws IOException;
+
+    /**
+     * Returns a codec using Java serialization, one length-prefixed object per row.
+     * Rows must be {@link java.io.Serializable}.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static <T> SpillCodec<T> serialization() {
+        return (SpillCodec<T>) SerializationSpillCodec.INSTANCE;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Rows of one join side written to a fixed number of partition files.
+ */
+final class SpillPartitions<T> {
+
+    private final Path[] paths;
+    private final long[] counts;
+    private final DataOutputStream[] outputs;
+    private final SpillCodec<T> codec;
+
+    SpillPartitions(Path directory, String prefix, int partitions, SpillCodec<T> codec) {
+        this.paths = new Path[partitions];
+        this.counts = new long[partitions];
+        this.outputs = new DataOutputStream[partitions];
+        this.codec = codec;
+        try {
+            for (int i = 0; i < partitions; i++) {
+                paths[i] = Files.createTempFile(directory, prefix, ".spill");
+                outputs[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(paths[i])));
+            }
+        } catch (IOException e) {
+            abort();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int size() {
+        return paths.length;
+    }
+
+    long count(int partition) {
+        return counts[partition];
+    }
+
+    void write(int partition, T value) {
+        try {
+            codec.write(outputs[partition], value);
+            counts[partition]++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs {@code writes} and finishes the partitions; if writing fails, closes and deletes every partition file
+     * before rethrowing.
+     */
+    void fill(Runnable writes) {
+        try {
+            writes.run();
+            finish();
+        } catch (RuntimeException | Error e) {
+            abort();
+            throw e;
+        }
+    }
+
+    void finish() {
+        IOException failure = null;
+        for (int i = 0; i < outputs.length; i++) {
+            try {
+                outputs[i].close();
+            } catch (IOException e) {
+                failure = e;
+            }
+            outputs[i] = null;
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /**
+     * Returns a stream over the rows of {@code partition}; closing it deletes the partition file.
+     */
+    Stream<T> read(int partition) {
+        final Path path = paths[partition];
+        final long count = counts[partition];
+        final DataInputStream input;
+        try {
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final Iterator<T> rows = new Iterator<T>() {
+            private long remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                try {
+                    return codec.read(input);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(rows, count, Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        input.close();
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    void abort() {
+        for (int i = 0; i < paths.length; i++) {
+            try {
+                if (outputs[i] != null) {
+                    outputs[i].close();
+                }
+                if (paths[i] != null) {
+                    Files.deleteIfExists(paths[i]);
+                }
+            } catch (IOException ignored) {
+                // best effort while failing
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+
+/**
+ * Snapshot of one position of a {@link FallbackMetrics} chain.
+ * Latencies are kept in power-of-two nanosecond buckets, so percentiles are upper bounds within a factor of two.
+ */
+@Data
+public class TierStatistics {
+
+    static final int BUCKETS = 64;
+    static final TierStatistics EMPTY = new TierStatistics(0L, 0L, 0L, new long[BUCKETS]);
+
+    private final long evaluations;
+    private final long hits;
+    private final long totalNanos;
+    private final long[] histogram;
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public long getMisses() {
+        return evaluations - hits;
+    }
+
+    public double getMeanNanos() {
+        return evaluations == 0 ? 0.0 : (double) totalNanos / evaluations;
+    }
+
+    public long percentileNanos(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("percentile out of range: " + percentile);
+        }
+        long count = 0L;
+        for (long c : histogram) {
+            count += c;
+        }
+        if (count == 0L) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0L;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= rank) {
+                return upperBoundOf(bucket);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    static int bucketOf(long nanos) {
+        return nanos <= 0L ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket == 0 ? 0L : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
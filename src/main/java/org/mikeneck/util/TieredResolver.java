@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Resolves a key through tiers of {@code key -> Optional<value>} sources with {@link First} semantics.
+ * Each tier may cache hits and misses under its own {@link CachePolicy}, and concurrent callers asking for
+ * the same key share a single lookup.
+ */
+public final class TieredResolver<K, V> {
+
+    private final List<Tier<K, V>> tiers;
+    private final ConcurrentMap<K, CompletableFuture<First<V>>> inFlight = new ConcurrentHashMap<>();
+
+    private TieredResolver(List<Tier<K, V>> tiers) {
+        this.tiers = tiers;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public static <K, V> TieredResolver<K, V> first(@NotNull @NonNull Function<? super K, Optional<V>> source) {
+        return first(source, CachePolicy.none());
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <K, V> TieredResolver<K, V> first(
+            @NotNull @NonNull Function<? super K, Optional<V>> source,
+            @NotNull @NonNull CachePolicy policy) {
+        return new TieredResolver<>(Collections.singletonList(new Tier<>(source, policy)));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public TieredResolver<K, V> then(@NotNull @NonNull Function<? super K, Optional<V>> source) {
+        return then(source, CachePolicy.none());
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public TieredResolver<K, V> then(
+            @NotNull @NonNull Function<? super K, Optional<V>> source,
+            @NotNull @NonNull CachePolicy policy) {
+        final List<Tier<K, V>> tiers = new ArrayList<>(this.tiers);
+        tiers.add(new Tier<>(source, policy));
+        return new TieredResolver<>(Collections.unmodifiableList(tiers));
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public First<V> resolve(@NotNull @NonNull K key) {
+        final First<V> cached = cached(key);
+        if (cached != null) {
+            return cached;
+        }
+        final CompletableFuture<First<V>> mine = new CompletableFuture<>();
+        final CompletableFuture<First<V>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            final First<V> result = lookup(key);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Contract("null->fail")
+    public void invalidate(@NotNull @NonNull K key) {
+        for (Tier<K, V> tier : tiers) {
+            tier.invalidate(key);
+        }
+    }
+
+    /**
+     * Returns the in-flight lookup of {@code key}, or {@code null} when there is none.
+     */
+    CompletableFuture<First<V>> inFlight(K key) {
+        return inFlight.get(key);
+    }
+
+    /**
+     * Answers from the tier caches alone, or returns {@code null} when some tier would have to be queried.
+     */
+    private First<V> cached(K key) {
+        for (Tier<K, V> tier : tiers) {
+            final Optional<V> cached = tier.cached(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.isPresent()) {
+                return First.of(cached);
+            }
+        }
+        return First.empty();
+    }
+
+    private First<V> lookup(K key) {
+        First<V> result = First.empty();
+        for (Tier<K, V> tier : tiers) {
+            result = result.append(() -> tier.find(key));
+        }
+        return result;
+    }
+
+    private static <V> First<V> await(CompletableFuture<First<V>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Tier<K, V> {
+
+        private final Function<? super K, Optional<V>> source;
+        private final ExpiringCache<K, V> cache;
+
+        private Tier(Function<? super K, Optional<V>> source, CachePolicy policy) {
+            this.source = source;
+            this.cache = policy.isEnabled() ? new ExpiringCache<>(policy) : null;
+        }
+
+        private Optional<V> find(K key) {
+            if (cache == null) {
+                return source.apply(key);
+            }
+            final Optional<V> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            final Optional<V> found = source.apply(key);
+            cache.put(key, found);
+            return found;
+        }
+
+        private Optional<V> cached(K key) {
+            return cache == null ? null : cache.get(key);
+        }
+
+        private void invalidate(K key) {
+            if (cache != null) {
+                cache.invalidate(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Folds the values of a monoid pushed within the last {@code length} time units, in amortized O(1) per value.
+ * A value pushed at {@code t} belongs to the window at {@code now} while {@code now - t < length}.
+ * Timestamps must not decrease.
+ */
+public final class TimeWindow<M extends Monoid<?, M>> {
+
+    private final long length;
+    private final LongSupplier clock;
+    private final TwoStacks<M> stacks;
+    private long latest = Long.MIN_VALUE;
+
+    private TimeWindow(long length, LongSupplier clock, M identity) {
+        this.length = length;
+        this.clock = clock;
+        this.stacks = new TwoStacks<>(identity);
+    }
+
+    @NotNull
+    @Contract("_,null,_->fail;_,_,null->fail")
+    public static <M extends Monoid<?, M>> TimeWindow<M> of(long length, @NotNull @NonNull LongSupplier clock, @NotNull @NonNull M identity) {
+        if (length < 1) {
+            throw new IllegalArgumentException("length must be positive: " + length);
+        }
+        return new TimeWindow<>(length, clock, identity);
+    }
+
+    @NotNull
+    @Contract("_,null->fail")
+    public static <M extends Monoid<?, M>> TimeWindow<M> ofMillis(long length, @NotNull @NonNull M identity) {
+        return of(length, System::currentTimeMillis, identity);
+    }
+
+    @Contract("null->fail")
+    public void push(@NotNull @NonNull M value) {
+        push(clock.getAsLong(), value);
+    }
+
+    @Contract("_,null->fail")
+    public void push(long timestamp, @NotNull @NonNull M value) {
+        if (timestamp < latest) {
+            throw new IllegalArgumentException("timestamp " + timestamp + " is older than " + latest);
+        }
+        latest = timestamp;
+        evictBefore(timestamp);
+        stacks.push(timestamp, value);
+    }
+
+    @NotNull
+    public M fold() {
+        return fold(clock.getAsLong());
+    }
+
+    @NotNull
+    public M fold(long now) {
+        evictBefore(now);
+        return stacks.fold();
+    }
+
+    public int size() {
+        return stacks.size();
+    }
+
+    private void evictBefore(long now) {
+        while (stacks.size() > 0 && now - stacks.oldestTime() >= length) {
+            stacks.evict();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The {@code k} best items by score, kept in a bounded heap whose root is the worst item retained.
+ * Equal scores are ordered by the tie-break comparator, smaller items first, so results do not depend on input order.
+ * {@link #add} updates this instance; {@link #append} returns a new instance with the best of both, with the
+ * {@code k} and comparators of this instance.
+ */
+public final class TopK<T, S> extends BoundedHeap<T> implements Monoid<Pair<T, S>, TopK<T, S>> {
+
+    private final Comparator<? super S> scoreOrder;
+    private Object[] scores;
+
+    private TopK(int k, Comparator<? super S> scoreOrder, Comparator<? super T> tieBreak) {
+        super(k, tieBreak);
+        this.scoreOrder = scoreOrder;
+        this.scores = new Object[items.length];
+    }
+
+    /**
+     * Keeps the {@code k} items with the greatest scores under {@code scoreOrder}.
+     */
+    @NotNull
+    @Contract("_,null,_->fail;_,_,null->fail")
+    public static <T, S> TopK<T, S> largest(
+            int k,
+            @NotNull @NonNull Comparator<? super S> scoreOrder,
+            @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return new TopK<>(k, scoreOrder, tieBreak);
+    }
+
+    /**
+     * Keeps the {@code k} items with the least scores under {@code scoreOrder}.
+     */
+    @NotNull
+    @Contract("_,null,_->fail;_,_,null->fail")
+    public static <T, S> TopK<T, S> smallest(
+            int k,
+            @NotNull @NonNull Comparator<? super S> scoreOrder,
+            @NotNull @NonNull Comparator<? super T> tieBreak) {
+        return largest(k, scoreOrder.reversed(), tieBreak);
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>, S extends Comparable<? super S>> TopK<T, S> largest(int k) {
+        return largest(k, Comparator.naturalOrder(), Comparator.naturalOrder());
+    }
+
+    @NotNull
+    public static <T extends Comparable<? super T>, S extends Comparable<? super S>> TopK<T, S> smallest(int k) {
+        return smallest(k, Comparator.naturalOrder(), Comparator.naturalOrder());
+    }
+
+    @Contract("null,_->fail;_,null->fail")
+    public void add(@NotNull @NonNull T item, @NotNull @NonNull S score) {
+        final int slot;
+        if (size < k) {
+            slot = push();
+        } else if (beatsRoot(item, scoreOrder.compare(score, score(0)))) {
+            slot = 0;
+        } else {
+            return;
+        }
+        items[slot] = item;
+        scores[slot] = score;
+        placed(slot);
+    }
+
+    @Contract("null->fail")
+    public void add(@NotNull @NonNull Pair<T, S> pair) {
+        add(pair.getLeft(), pair.getRight());
+    }
+
+    /**
+     * Returns the retained items, best first.
+     */
+    @NotNull
+    public List<Pair<T, S>> toList() {
+        final List<Pair<T, S>> list = new ArrayList<>(size);
+        for (int index : order()) {
+            list.add(new Pair<>(item(index), score(index)));
+        }
+        return list;
+    }
+
+    @NotNull
+    @Override
+    public TopK<T, S> append(@NotNull @NonNull TopK<T, S> other) {
+        final TopK<T, S> merged = new TopK<>(k, scoreOrder, tieBreak);
+        merged.addAll(this);
+        merged.addAll(other);
+        return merged;
+    }
+
+    private void addAll(TopK<T, S> other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.item(i), other.score(i));
+        }
+    }
+
+    @Override
+    int compareScores(int a, int b) {
+        return scoreOrder.compare(score(a), score(b));
+    }
+
+    @Override
+    void swapScores(int a, int b) {
+        final Object score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    @Override
+    void growScores(int capacity) {
+        scores = Arrays.copyOf(scores, capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private S score(int index) {
+        return (S) scores[index];
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import java.util.Arrays;
+
+/**
+ * FIFO fold over a monoid without inverse. The back stack keeps raw values and their running fold;
+ * when the front stack runs out, the back stack is flipped into suffix folds. Each value is appended
+ * a constant number of times, so push, evict and query are amortized O(1).
+ */
+final class TwoStacks<M extends Monoid<?, M>> {
+
+    private final M identity;
+
+    private Object[] front = new Object[8];
+    private long[] frontTimes = new long[8];
+    private int frontSize;
+
+    private Object[] back = new Object[8];
+    private long[] backTimes = new long[8];
+    private int backSize;
+    private M backFold;
+
+    TwoStacks(M identity) {
+        this.identity = identity;
+        this.backFold = identity;
+    }
+
+    int size() {
+        return frontSize + backSize;
+    }
+
+    void push(long time, M value) {
+        if (backSize == back.length) {
+            final int grown = Columns.grow(back.length, backSize + 1);
+            back = Arrays.copyOf(back, grown);
+            backTimes = Arrays.copyOf(backTimes, grown);
+        }
+        back[backSize] = value;
+        backTimes[backSize] = time;
+        backSize++;
+        backFold = backFold.append(value);
+    }
+
+    long oldestTime() {
+        if (frontSize == 0) {
+            flip();
+        }
+        return frontTimes[frontSize - 1];
+    }
+
+    void evict() {
+        if (frontSize == 0) {
+            flip();
+        }
+        frontSize--;
+        front[frontSize] = null;
+    }
+
+    M fold() {
+        if (frontSize == 0) {
+            return backFold;
+        }
+        return frontTop().append(backFold);
+    }
+
+    void clear() {
+        Arrays.fill(front, 0, frontSize, null);
+        Arrays.fill(back, 0, backSize, null);
+        frontSize = 0;
+        backSize = 0;
+        backFold = identity;
+    }
+
+    private void flip() {
+        if (backSize == 0) {
+            throw new IllegalStateException("window is empty");
+        }
+        if (front.length < backSize) {
+            front = new Object[back.length];
+            frontTimes = new long[back.length];
+        }
+        M suffix = null;
+        for (int i = backSize - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked") final M value = (M) back[i];
+            suffix = suffix == null ? value : value.append(suffix);
+            front[frontSize] = suffix;
+            frontTimes[frontSize] = backTimes[i];
+            frontSize++;
+            back[i] = null;
+        }
+        backSize = 0;
+        backFold = identity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private M frontTop() {
+        return (M) front[frontSize - 1];
+    }
+}
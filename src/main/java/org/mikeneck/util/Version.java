@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Totally ordered write version: a timestamp, with the writing node's id breaking ties.
+ */
+@Data
+public class Version implements Comparable<Version> {
+
+    private final long timestamp;
+    private final int node;
+
+    public Version(long timestamp, int node) {
+        this.timestamp = timestamp;
+        this.node = node;
+    }
+
+    public boolean isAfter(@NotNull @NonNull Version other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public int compareTo(@NotNull @NonNull Version other) {
+        final int byTimestamp = Long.compare(timestamp, other.timestamp);
+        return byTimestamp != 0 ? byTimestamp : Integer.compare(node, other.node);
+    }
+}
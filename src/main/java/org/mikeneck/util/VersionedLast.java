@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Last-writer-wins register: {@link #append(VersionedLast)} keeps the value with the greater {@link Version},
+ * whatever the call order. Merging is commutative, associative and idempotent, so replicas converge however
+ * their states or {@link #deltaSince(Version) deltas} are exchanged. Every write needs a distinct version,
+ * which a {@link HybridLogicalClock} per node provides.
+ */
+public final class VersionedLast<T> implements Monoid<T, VersionedLast<T>> {
+
+    private static final VersionedLast<Object> EMPTY = new VersionedLast<>(null, null);
+
+    private final Version version;
+    private final T value;
+
+    private VersionedLast(Version version, T value) {
+        this.version = version;
+        this.value = value;
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <T> VersionedLast<T> empty() {
+        return (VersionedLast<T>) EMPTY;
+    }
+
+    @NotNull
+    @Contract("null,_->fail;_,null->fail")
+    public static <T> VersionedLast<T> of(@NotNull @NonNull Version version, @NotNull @NonNull T value) {
+        return new VersionedLast<>(version, value);
+    }
+
+    public boolean isEmpty() {
+        return version == null;
+    }
+
+    @NotNull
+    public Optional<Version> getVersion() {
+        return Optional.ofNullable(version);
+    }
+
+    public T or(@NotNull @NonNull Supplier<? extends T> candidate) {
+        return isEmpty() ? candidate.get() : value;
+    }
+
+    @NotNull
+    @Contract("null->fail")
+    public <R> VersionedLast<R> map(@NotNull @NonNull Function<? super T, ? extends R> function) {
+        return isEmpty() ? empty() : new VersionedLast<>(version, function.apply(value));
+    }
+
+    @NotNull
+    @Override
+    public VersionedLast<T> append(@NotNull @NonNull VersionedLast<T> other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        return isEmpty() || other.version.isAfter(version) ? other : this;
+    }
+
+    /**
+     * Returns the state a replica that has merged everything up to {@code seen} still needs:
+     * this register if it was written after {@code seen}, and the empty register otherwise.
+     */
+    @NotNull
+    public VersionedLast<T> deltaSince(@Nullable Version seen) {
+        return isEmpty() || seen == null || version.isAfter(seen) ? this : empty();
+    }
+
+    @NotNull
+    public Last<T> toLast() {
+        return isEmpty() ? Last.empty() : Last.of(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VersionedLast)) {
+            return false;
+        }
+        final VersionedLast<?> that = (VersionedLast<?>) o;
+        return Objects.equals(version, that.version) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, value);
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "VersionedLast(empty)" : "VersionedLast(version=" + version + ", value=" + value + ")";
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccumulatorTest {
+
+    private final Supplier<String> fail = () -> {
+        Assertions.fail("this code should not be executed");
+        return "";
+    };
+
+    @Test
+    void emptiesAreShared() {
+        assertAll(
+                () -> assertSame(First.empty(), First.empty()),
+                () -> assertSame(First.empty(), First.of(Optional.empty())),
+                () -> assertSame(First.empty(), First.<String>empty().map(String::length)),
+                () -> assertSame(Last.empty(), Last.of(Optional.empty())),
+                () -> assertSame(Last.empty(), Last.<String>empty().map(String::length))
+        );
+    }
+
+    @Nested
+    class FirstAccumulatorTest {
+
+        @Test
+        void keepsFirstPresentCandidate() {
+            final First<String> actual = First.<String>accumulator()
+                    .append(Optional.empty())
+                    .appendNullable(null)
+                    .append(Optional.of("first"))
+                    .appendNullable("second")
+                    .append(() -> Optional.of("third"))
+                    .toFirst();
+            assertEquals("first", actual.or(fail));
+        }
+
+        @Test
+        void doesNotEvaluateSupplierOnceSettled() {
+            final FirstAccumulator<String> accumulator = First.<String>accumulator().appendNullable("first");
+            accumulator.append(() -> Optional.of(fail.get()));
+            assertEquals("first", accumulator.toFirst().or(fail));
+        }
+
+        @Test
+        void emptyAccumulatorProducesSharedEmpty() {
+            final FirstAccumulator<String> accumulator = First.accumulator();
+            assertAll(
+                    () -> assertTrue(accumulator.isEmpty()),
+                    () -> assertSame(First.empty(), accumulator.toFirst())
+            );
+        }
+
+        @Test
+        void resetAllowsReuse() {
+            final FirstAccumulator<String> accumulator = First.<String>accumulator().appendNullable("first");
+            accumulator.reset().appendNullable("second");
+            assertEquals("second", accumulator.toFirst().or(fail));
+        }
+    }
+
+    @Nested
+    class LastAccumulatorTest {
+
+        @Test
+        void keepsLastPresentCandidate() {
+            final LastAccumulator<String> accumulator = Last.<String>accumulator()
+                    .append(Optional.of("first"))
+                    .appendNullable("second")
+                    .append(() -> Optional.of("third"))
+                    .append(Optional.empty())
+                    .appendNullable(null);
+            assertAll(
+                    () -> assertFalse(accumulator.isEmpty()),
+                    () -> assertEquals("third", accumulator.toLast().or(() -> "none"))
+            );
+        }
+
+        @Test
+        void emptyAccumulatorProducesSharedEmpty() {
+            final LastAccumulator<String> accumulator = Last.<String>accumulator().append(Optional.empty());
+            assertAll(
+                    () -> assertTrue(accumulator.isEmpty()),
+                    () -> assertSame(Last.empty(), accumulator.toLast())
+            );
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchResolverTest {
+
+    private static final class RecordingSource implements Function<List<String>, Map<String, String>> {
+        private final Map<String, String> values = new HashMap<>();
+        private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private CountDownLatch overlap = new CountDownLatch(0);
+
+        private RecordingSource put(String key, String value) {
+            values.put(key, value);
+            return this;
+        }
+
+        /**
+         * Holds the first {@code batches} requests until they are all running at once.
+         */
+        private RecordingSource overlapping(int batches) {
+            overlap = new CountDownLatch(batches);
+            return this;
+        }
+
+        @Override
+        public Map<String, String> apply(List<String> keys) {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                requests.add(new ArrayList<>(keys));
+                overlap.countDown();
+                if (!overlap.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("batches did not overlap");
+                }
+                final Map<String, String> found = new HashMap<>();
+                for (String key : keys) {
+                    if (values.containsKey(key)) {
+                        found.put(key, values.get(key));
+                    }
+                }
+                return found;
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    @Test
+    void queriesEachTierOnceWithUnresolvedKeys() {
+        final RecordingSource cache = new RecordingSource().put("a", "cache");
+        final RecordingSource db = new RecordingSource().put("a", "db").put("b", "db");
+        final Map<String, First<String>> results = BatchResolver.first(cache).then(db)
+                .resolveAll(Arrays.asList("a", "b", "c", "a"));
+        assertAll(
+                () -> assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(results.keySet())),
+                () -> assertEquals("cache", results.get("a").or(() -> "none")),
+                () -> assertEquals("db", results.get("b").or(() -> "none")),
+                () -> assertTrue(results.get("c").isEmpty()),
+                () -> assertEquals(Collections.singletonList(Arrays.asList("a", "b", "c")), cache.requests),
+                () -> assertEquals(Collections.singletonList(Arrays.asList("b", "c")), db.requests)
+        );
+    }
+
+    @Test
+    void stopsWhenEverythingIsResolved() {
+        final RecordingSource cache = new RecordingSource().put("a", "cache");
+        final RecordingSource db = new RecordingSource();
+        BatchResolver.first(cache).then(db).resolveAll(Collections.singletonList("a"));
+        assertTrue(db.requests.isEmpty());
+    }
+
+    @Test
+    void splitsIntoBatchesSequentially() {
+        final RecordingSource db = new RecordingSource().put("c", "db");
+        final Map<String, First<String>> results = BatchResolver.first(db, BatchPolicy.of(2))
+                .resolveAll(Arrays.asList("a", "b", "c", "d", "e"));
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d"), Collections.singletonList("e")),
+                db.requests);
+        assertEquals("db", results.get("c").or(() -> "none"));
+        assertEquals(1, db.peak.get());
+    }
+
+    @Test
+    void boundsConcurrencyPerTier() {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final RecordingSource db = new RecordingSource().overlapping(2);
+            for (int i = 0; i < 40; i++) {
+                db.put("k" + i, "v" + i);
+            }
+            final List<String> keys = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                keys.add("k" + i);
+            }
+            final Map<String, First<String>> results = BatchResolver.first(db,
+                    BatchPolicy.of(3).withConcurrency(2, executor)).resolveAll(keys);
+            assertEquals(14, db.requests.size());
+            assertEquals(2, db.peak.get());
+            for (int i = 0; i < 40; i++) {
+                assertEquals("v" + i, results.get("k" + i).or(() -> "none"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void propagatesSourceFailure() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final BatchResolver<String, String> resolver = BatchResolver.first(keys -> {
+                throw new IllegalStateException("down");
+            }, BatchPolicy.of(1).withConcurrency(2, executor));
+            assertThrows(IllegalStateException.class, () -> resolver.resolveAll(Arrays.asList("a", "b")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsNullKeys() {
+        final BatchResolver<String, String> resolver = BatchResolver.first(keys -> Collections.emptyMap());
+        assertThrows(NullPointerException.class, () -> resolver.resolveAll(Arrays.asList("a", null)));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CodecsTest {
+
+    private static <T> T roundTrip(Codec<T> codec, T value) {
+        final ByteBuffer buffer = Codecs.encode(codec, value);
+        final T read = codec.read(buffer);
+        assertFalse(buffer.hasRemaining());
+        return read;
+    }
+
+    private static <T> T valueOf(Last<T> last) {
+        final AtomicReference<T> value = new AtomicReference<>();
+        last.map(v -> {
+            value.set(v);
+            return v;
+        });
+        return value.get();
+    }
+
+    @Test
+    void primitivesAndStrings() {
+        assertAll(
+                () -> assertEquals(Integer.valueOf(-7), roundTrip(Codecs.INT, -7)),
+                () -> assertEquals(Long.valueOf(Long.MIN_VALUE), roundTrip(Codecs.LONG, Long.MIN_VALUE)),
+                () -> assertEquals(Double.valueOf(Math.PI), roundTrip(Codecs.DOUBLE, Math.PI)),
+                () -> assertEquals("", roundTrip(Codecs.STRING, "")),
+                () -> assertEquals("\u3053\u3093\u306b\u3061\u306f \ud83d\ude00", roundTrip(Codecs.STRING, "\u3053\u3093\u306b\u3061\u306f \ud83d\ude00"))
+        );
+    }
+
+    @Test
+    void stringLengthIsUtf8ByteCount() {
+        final ByteBuffer buffer = Codecs.encode(Codecs.STRING, "a\u00e9");
+        assertEquals(3, buffer.getInt(0));
+        assertEquals(7, buffer.remaining());
+    }
+
+    @Test
+    void stringsReadFromDirectBuffers() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        Codecs.STRING.write(buffer, "direct \u00fc");
+        Codecs.INT.write(buffer, 42);
+        buffer.flip();
+        assertEquals("direct \u00fc", Codecs.STRING.read(buffer));
+        assertEquals(Integer.valueOf(42), Codecs.INT.read(buffer));
+    }
+
+    @Test
+    void malformedStringsFailOnHeapAndDirectBuffers() {
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(16), ByteBuffer.allocateDirect(16)}) {
+            buffer.putInt(3).put((byte) 'a').put((byte) 0xc3).put((byte) 0x28).flip();
+            assertThrows(IllegalArgumentException.class, () -> Codecs.STRING.read(buffer), buffer::toString);
+        }
+    }
+
+    @Test
+    void pairsRoundTrip() {
+        final Codec<Pair<String, Long>> codec = Codecs.pair(Codecs.STRING, Codecs.LONG);
+        assertAll(
+                () -> assertEquals(new Pair<>("id", 12L), roundTrip(codec, new Pair<>("id", 12L))),
+                () -> assertEquals(new IntPair(1, -2), roundTrip(Codecs.INT_PAIR, new IntPair(1, -2))),
+                () -> assertEquals(new LongPair(3L, 4L), roundTrip(Codecs.LONG_PAIR, new LongPair(3L, 4L))),
+                () -> assertEquals(new DoublePair(0.5, -0.5), roundTrip(Codecs.DOUBLE_PAIR, new DoublePair(0.5, -0.5))),
+                () -> assertEquals(new ObjIntPair<>("x", 9), roundTrip(Codecs.objIntPair(Codecs.STRING), new ObjIntPair<>("x", 9))),
+                () -> assertEquals(new ObjLongPair<>("y", 8L), roundTrip(Codecs.objLongPair(Codecs.STRING), new ObjLongPair<>("y", 8L)))
+        );
+    }
+
+    @Test
+    void firstAndLastUseOneByteTag() {
+        final Codec<First<String>> first = Codecs.first(Codecs.STRING);
+        final Codec<Last<String>> last = Codecs.last(Codecs.STRING);
+        assertAll(
+                () -> assertEquals(1, Codecs.encode(first, First.empty()).remaining()),
+                () -> assertEquals(1, Codecs.encode(last, Last.empty()).remaining()),
+                () -> assertTrue(roundTrip(first, First.empty()).isEmpty()),
+                () -> assertTrue(roundTrip(last, Last.empty()).isEmpty()),
+                () -> assertEquals("a", roundTrip(first, First.of("a")).or(() -> "none")),
+                () -> assertEquals("b", valueOf(roundTrip(last, Last.of("b")))),
+                () -> assertEquals(5, Codecs.encode(Codecs.FIRST_INT, FirstInt.of(1)).remaining())
+        );
+    }
+
+    @Test
+    void primitiveFirstAndLastRoundTrip() {
+        assertAll(
+                () -> assertEquals(3, roundTrip(Codecs.FIRST_INT, FirstInt.of(3)).orElse(0)),
+                () -> assertTrue(roundTrip(Codecs.FIRST_INT, FirstInt.empty()).isEmpty()),
+                () -> assertEquals(4L, roundTrip(Codecs.FIRST_LONG, FirstLong.of(4L)).orElse(0L)),
+                () -> assertTrue(roundTrip(Codecs.FIRST_LONG, FirstLong.empty()).isEmpty()),
+                () -> assertEquals(0.25, roundTrip(Codecs.FIRST_DOUBLE, FirstDouble.of(0.25)).orElse(0.0)),
+                () -> assertEquals(5, roundTrip(Codecs.LAST_INT, LastInt.of(5)).orElse(0)),
+                () -> assertTrue(roundTrip(Codecs.LAST_INT, LastInt.empty()).isEmpty()),
+                () -> assertEquals(6L, roundTrip(Codecs.LAST_LONG, LastLong.of(6L)).orElse(0L)),
+                () -> assertEquals(0.75, roundTrip(Codecs.LAST_DOUBLE, LastDouble.of(0.75)).orElse(0.0)),
+                () -> assertTrue(roundTrip(Codecs.LAST_DOUBLE, LastDouble.empty()).isEmpty())
+        );
+    }
+
+    @Test
+    void batchesRoundTrip() {
+        final Codec<List<Pair<String, Integer>>> codec = Codecs.list(Codecs.pair(Codecs.STRING, Codecs.INT));
+        final List<Pair<String, Integer>> values = Arrays.asList(new Pair<>("a", 1), new Pair<>("b", 2));
+        final IntPairList ints = new IntPairList();
+        ints.add(1, 2);
+        ints.add(-3, 4);
+        final LongPairList longs = new LongPairList();
+        longs.add(5L, 6L);
+        assertAll(
+                () -> assertEquals(values, roundTrip(codec, values)),
+                () -> assertEquals(Collections.emptyList(), roundTrip(codec, Collections.emptyList())),
+                () -> assertEquals(ints, roundTrip(Codecs.INT_PAIR_LIST, ints)),
+                () -> assertEquals(longs, roundTrip(Codecs.LONG_PAIR_LIST, longs))
+        );
+    }
+
+    @Test
+    void overflowAndCorruptInput() {
+        assertThrows(BufferOverflowException.class, () -> Codecs.STRING.write(ByteBuffer.allocate(6), "abcdef"));
+        final ByteBuffer corrupt = ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE);
+        corrupt.flip();
+        assertThrows(IllegalArgumentException.class, () -> Codecs.STRING.read(corrupt.duplicate()));
+        assertThrows(IllegalArgumentException.class, () -> Codecs.first(Codecs.INT).read(ByteBuffer.wrap(new byte[]{7})));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentAccumulatorTest {
+
+    private static final int THREADS = 8;
+    private static final int OFFERS = 10_000;
+
+    private static <T> T valueOf(Last<T> last) {
+        final AtomicReference<T> value = new AtomicReference<>();
+        last.map(v -> {
+            value.set(v);
+            return v;
+        });
+        return value.get();
+    }
+
+    @Test
+    void firstIsSettledExactlyOnce() throws Exception {
+        final ConcurrentFirst<Integer> first = new ConcurrentFirst<>();
+        final AtomicInteger winners = new AtomicInteger();
+        final List<Integer> won = new ArrayList<>();
+        runConcurrently(thread -> {
+            for (int i = 0; i < OFFERS; i++) {
+                final int value = thread * OFFERS + i;
+                if (first.offerNullable(value)) {
+                    winners.incrementAndGet();
+                    synchronized (won) {
+                        won.add(value);
+                    }
+                }
+            }
+        });
+        assertAll(
+                () -> assertEquals(1, winners.get()),
+                () -> assertEquals(won.get(0), first.toFirst().or(() -> -1))
+        );
+    }
+
+    @Test
+    void firstSkipsSupplierOnceSettled() {
+        final ConcurrentFirst<String> first = new ConcurrentFirst<>();
+        assertAll(
+                () -> assertTrue(first.isEmpty()),
+                () -> assertFalse(first.offer(Optional.empty())),
+                () -> assertTrue(first.offer(Optional.of("first"))),
+                () -> assertFalse(first.offer(() -> {
+                    throw new AssertionError("this code should not be executed");
+                })),
+                () -> assertEquals("first", first.toFirst().or(() -> "none"))
+        );
+    }
+
+    @Test
+    void lastSequentialOffers() {
+        final ConcurrentLast<String> last = new ConcurrentLast<>(4);
+        last.offer(Optional.of("first"));
+        last.offerNullable("second");
+        last.offer(Optional.empty());
+        last.offerNullable(null);
+        assertEquals("second", valueOf(last.toLast()));
+    }
+
+    @Test
+    void lastIsTheFinalOfferOfSomeProducer() throws Exception {
+        final ConcurrentLast<Integer> last = new ConcurrentLast<>(2);
+        runConcurrently(thread -> {
+            for (int i = 0; i < OFFERS; i++) {
+                last.offerNullable(thread * OFFERS + i);
+            }
+        });
+        final int value = valueOf(last.toLast());
+        assertEquals(OFFERS - 1, value % OFFERS);
+    }
+
+    @Test
+    void emptyLast() {
+        final ConcurrentLast<String> last = new ConcurrentLast<>();
+        assertAll(
+                () -> assertTrue(last.isEmpty()),
+                () -> assertTrue(last.toLast().isEmpty()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ConcurrentLast<String>(3))
+        );
+    }
+
+    private static void runConcurrently(Producer producer) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    producer.produce(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    interface Producer {
+        void produce(int thread);
+    }
+}
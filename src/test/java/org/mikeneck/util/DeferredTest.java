@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeferredTest {
+
+    @Test
+    void lastOrReturnsItsOwnValue() {
+        assertEquals("value", Last.of("value").or(() -> "other"));
+        assertEquals("other", Last.<String>empty().or(() -> "other"));
+        assertEquals("b", Last.of("a").append(Optional.of("b")).or(() -> "other"));
+    }
+
+    @Test
+    void mapChainRunsOnlyWhenForced() {
+        final AtomicInteger calls = new AtomicInteger();
+        final First<Integer> mapped = First.deferred(First.of("abc"))
+                .map(s -> {
+                    calls.incrementAndGet();
+                    return s + "d";
+                })
+                .map(s -> {
+                    calls.incrementAndGet();
+                    return s.length();
+                });
+        assertEquals(0, calls.get());
+        assertFalse(mapped.isEmpty());
+        assertEquals(Integer.valueOf(4), mapped.or(() -> 0));
+        assertEquals(Integer.valueOf(4), mapped.or(() -> 0));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void mappingAfterForcingReusesTheResult() {
+        final AtomicInteger calls = new AtomicInteger();
+        final First<String> forced = First.deferred(First.of("a")).map(s -> {
+            calls.incrementAndGet();
+            return s + "b";
+        });
+        forced.isEmpty();
+        assertEquals("abc", forced.map(s -> s + "c").or(() -> "none"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void nullMappingIsEmpty() {
+        final First<String> first = First.deferred(First.of("a")).map(s -> null);
+        final Last<String> last = Last.deferred(Last.of("a")).map(s -> null);
+        assertAll(
+                () -> assertTrue(first.isEmpty()),
+                () -> assertEquals("fallback", first.append(Optional.of("fallback")).or(() -> "none")),
+                () -> assertTrue(last.isEmpty()),
+                () -> assertEquals("none", last.or(() -> "none"))
+        );
+    }
+
+    @Test
+    void emptySourceNeverRunsTheChain() {
+        final First<String> first = First.deferred(First.<String>empty()).map(s -> {
+            throw new AssertionError("must not run");
+        });
+        assertTrue(first.isEmpty());
+        assertEquals("none", first.or(() -> "none"));
+    }
+
+    @Test
+    void discardedLastProjectionIsNeverComputed() {
+        final Last<String> last = Last.deferred(Last.of("expensive")).map(s -> {
+            throw new AssertionError("must not run");
+        });
+        assertEquals("cheap", last.append(Optional.of("cheap")).or(() -> "none"));
+        assertEquals("cheap", last.append(Last.of("cheap")).or(() -> "none"));
+        assertEquals("cheap", last.append(() -> Optional.of("cheap")).or(() -> "none"));
+    }
+
+    @Test
+    void firstAppendKeepsDeferredValue() {
+        final First<Integer> first = First.deferred(First.of("abc")).map(String::length);
+        assertEquals(Integer.valueOf(3), first.append(Optional.of(10)).or(() -> 0));
+        assertEquals(Integer.valueOf(3), first.append(First.of(10)).or(() -> 0));
+    }
+
+    @Test
+    void deferringIsIdempotent() {
+        final First<String> deferred = First.deferred(First.of("a"));
+        final Last<String> last = Last.deferred(Last.of("a"));
+        assertSame(deferred, First.deferred(deferred));
+        assertSame(last, Last.deferred(last));
+        assertSame(First.empty(), First.deferred(First.empty()));
+    }
+
+    @Test
+    void concurrentForcingComputesOnce() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Last<Integer> last = Last.deferred(Last.of(21)).map(i -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return i * 2;
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return last.or(() -> 0);
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(42), result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FallbackMetricsTest {
+
+    @Test
+    void disabledReturnsSuppliersUnchanged() {
+        final FallbackMetrics metrics = FallbackMetrics.create("disabled", false);
+        final Supplier<Optional<String>> tier = () -> Optional.of("value");
+        final Supplier<String> fallback = () -> "default";
+        assertAll(
+                () -> assertSame(tier, metrics.tier(0, tier)),
+                () -> assertSame(fallback, metrics.fallback(fallback)),
+                () -> assertEquals(0L, metrics.statistics(0).getEvaluations())
+        );
+    }
+
+    @Test
+    void countsHitsAndMissesPerPosition() {
+        final FallbackMetrics metrics = FallbackMetrics.create("lookup", true);
+        for (int i = 0; i < 4; i++) {
+            final boolean cached = i % 2 == 0;
+            final String actual = First.<String>empty()
+                    .append(metrics.tier(0, () -> cached ? Optional.of("cache") : Optional.empty()))
+                    .append(metrics.tier(1, () -> Optional.of("db")))
+                    .or(metrics.fallback(() -> "default"));
+            assertEquals(cached ? "cache" : "db", actual);
+        }
+        final TierStatistics cache = metrics.statistics(0);
+        final TierStatistics db = metrics.statistics(1);
+        assertAll(
+                () -> assertEquals(4L, cache.getEvaluations()),
+                () -> assertEquals(2L, cache.getHits()),
+                () -> assertEquals(2L, cache.getMisses()),
+                () -> assertEquals(2L, db.getEvaluations()),
+                () -> assertEquals(2L, db.getHits()),
+                () -> assertEquals(0L, metrics.statistics(FallbackMetrics.DEFAULT_POSITION).getEvaluations()),
+                () -> assertEquals(2, metrics.positions())
+        );
+    }
+
+    @Test
+    void recordsFallbackAndNotifiesListeners() {
+        final FallbackMetrics metrics = FallbackMetrics.create("notify", true);
+        final List<String> events = new ArrayList<>();
+        final FallbackListener listener = (chain, position, hit, nanos) -> events.add(chain + ":" + position + ":" + hit);
+        FallbackMetrics.addListener(listener);
+        try {
+            First.<String>empty()
+                    .append(metrics.tier(0, Optional::empty))
+                    .or(metrics.fallback(() -> "default"));
+        } finally {
+            FallbackMetrics.removeListener(listener);
+        }
+        assertAll(
+                () -> assertEquals(2, events.size()),
+                () -> assertEquals("notify:0:false", events.get(0)),
+                () -> assertEquals("notify:-1:true", events.get(1)),
+                () -> assertEquals(1L, metrics.statistics(FallbackMetrics.DEFAULT_POSITION).getEvaluations())
+        );
+    }
+
+    @Test
+    void failingSupplierIsRecordedAsMiss() {
+        final FallbackMetrics metrics = FallbackMetrics.create("failure", true);
+        final Supplier<? extends Optional<String>> tier = metrics.tier(0, () -> {
+            throw new IllegalStateException("down");
+        });
+        assertThrows(IllegalStateException.class, tier::get);
+        assertEquals(1L, metrics.statistics(0).getMisses());
+    }
+
+    @Test
+    void percentiles() {
+        final TierStatistics statistics = new TierStatistics(3L, 3L, 0L, histogram(TierStatistics.bucketOf(100L), TierStatistics.bucketOf(100L), TierStatistics.bucketOf(5_000L)));
+        assertAll(
+                () -> assertEquals(127L, statistics.percentileNanos(50.0)),
+                () -> assertEquals(8_191L, statistics.percentileNanos(99.0)),
+                () -> assertEquals(0L, TierStatistics.EMPTY.percentileNanos(99.0))
+        );
+    }
+
+    @Test
+    void registryReturnsSameChain() {
+        assertSame(FallbackMetrics.chain("registry"), FallbackMetrics.chain("registry"));
+    }
+
+    private static long[] histogram(int... buckets) {
+        final long[] histogram = new long[64];
+        for (int bucket : buckets) {
+            histogram[bucket]++;
+        }
+        return histogram;
+    }
+}
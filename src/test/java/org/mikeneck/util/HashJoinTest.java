@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashJoinTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("hash-join-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static List<Integer> randomKeys(long seed, int size, int range) {
+        final Random random = new Random(seed);
+        return IntStream.range(0, size).map(i -> random.nextInt(range)).boxed().collect(Collectors.toList());
+    }
+
+    private static List<String> nestedLoopInner(List<Integer> left, List<Integer> right) {
+        final List<String> expected = new ArrayList<>();
+        for (Integer l : left) {
+            for (Integer r : right) {
+                if (l.equals(r)) {
+                    expected.add(l + "=" + r);
+                }
+            }
+        }
+        expected.sort(null);
+        return expected;
+    }
+
+    private static <T> List<String> sorted(Stream<T> stream, Function<T, String> format) {
+        try (Stream<T> closing = stream) {
+            return closing.map(format).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private long filesIn(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void innerJoinInMemory() {
+        final List<String> actual = sorted(HashJoin.<String, String, String>on(s -> s.substring(0, 1), s -> s.substring(0, 1))
+                .inner(Stream.of("a1", "b1", "c1"), Stream.of("a2", "a3", "b2", "d2")), p -> p.getLeft() + p.getRight());
+        assertEquals(Arrays.asList("a1a2", "a1a3", "b1b2"), actual);
+    }
+
+    @Test
+    void leftOuterAndAntiJoin() {
+        final HashJoin<Integer, Integer, Integer> join = HashJoin.on(Function.identity(), Function.identity());
+        final List<String> outer = sorted(join.leftOuter(Stream.of(1, 2, 3), Stream.of(2, 2, 4)),
+                p -> p.getLeft() + ":" + p.getRight().map(String::valueOf).orElse("-"));
+        final List<String> anti = sorted(join.anti(Stream.of(1, 2, 3), Stream.of(2, 2, 4)), String::valueOf);
+        assertEquals(Arrays.asList("1:-", "2:2", "2:2", "3:-"), outer);
+        assertEquals(Arrays.asList("1", "3"), anti);
+    }
+
+    @Test
+    void nullKeysNeverMatch() {
+        final HashJoin<String, String, String> join = HashJoin.on(s -> s.isEmpty() ? null : s, s -> s.isEmpty() ? null : s);
+        assertEquals(0L, join.inner(Stream.of("", "a"), Stream.of("", "b")).count());
+        assertEquals(2L, join.anti(Stream.of("", "a"), Stream.of("", "b")).count());
+    }
+
+    @Test
+    void joinRunsLazily() {
+        final AtomicInteger pulled = new AtomicInteger();
+        final Stream<Pair<Integer, Integer>> joined = HashJoin.<Integer, Integer, Integer>on(Function.identity(), Function.identity())
+                .inner(Stream.of(1), Stream.of(1).peek(i -> pulled.incrementAndGet()));
+        assertEquals(0, pulled.get());
+        assertEquals(1L, joined.count());
+        assertEquals(1, pulled.get());
+    }
+
+    @Test
+    void spilledJoinMatchesInMemoryJoin() throws IOException {
+        final List<Integer> left = randomKeys(1L, 2_000, 500);
+        final List<Integer> right = randomKeys(2L, 3_000, 500);
+        final HashJoin<Integer, Integer, Integer> join = HashJoin.<Integer, Integer, Integer>on(Function.identity(), Function.identity())
+                .withMemoryBudget(100)
+                .withPartitions(4)
+                .withSpillDirectory(directory);
+        assertEquals(nestedLoopInner(left, right),
+                sorted(join.inner(left.stream(), right.stream()), p -> p.getLeft() + "=" + p.getRight()));
+        assertEquals(left.stream().filter(l -> !right.contains(l)).map(String::valueOf).sorted().collect(Collectors.toList()),
+                sorted(join.anti(left.stream(), right.stream()), String::valueOf));
+        final long unmatched = left.stream().filter(l -> !right.contains(l)).count();
+        final List<String> outer = sorted(join.leftOuter(left.stream(), right.stream()), p -> p.getRight().isPresent() ? "hit" : "miss");
+        assertEquals(unmatched, outer.stream().filter("miss"::equals).count());
+        assertEquals(0L, filesIn(directory));
+    }
+
+    @Test
+    void parallelProbeMatchesSequential() {
+        final List<Integer> left = randomKeys(3L, 5_000, 1_000);
+        final List<Integer> right = randomKeys(4L, 2_000, 1_000);
+        final HashJoin<Integer, Integer, Integer> join = HashJoin.on(Function.identity(), Function.identity());
+        final List<String> expected = nestedLoopInner(left, right);
+        assertEquals(expected, sorted(join.inner(left.parallelStream(), right.stream()), p -> p.getLeft() + "=" + p.getRight()));
+        assertEquals(expected, sorted(join.withMemoryBudget(50).withSpillDirectory(directory)
+                .inner(left.parallelStream(), right.stream()), p -> p.getLeft() + "=" + p.getRight()));
+    }
+
+    @Test
+    void closingAnUnfinishedSpilledJoinRemovesFiles() throws IOException {
+        final HashJoin<Integer, Integer, Integer> join = HashJoin.<Integer, Integer, Integer>on(Function.identity(), Function.identity())
+                .withMemoryBudget(10)
+                .withSpillDirectory(directory);
+        try (Stream<Pair<Integer, Integer>> joined = join.inner(IntStream.range(0, 1_000).boxed(), IntStream.range(0, 1_000).boxed())) {
+            assertTrue(joined.findFirst().isPresent());
+            assertTrue(filesIn(directory) > 0L);
+        }
+        assertEquals(0L, filesIn(directory));
+    }
+
+    @Test
+    void failingCodecReleasesPartitionFiles() throws IOException {
+        final SpillCodec<Integer> codec = new SpillCodec<Integer>() {
+            @Override
+            public void write(DataOutput out, Integer value) throws IOException {
+                if (value == 500) {
+                    throw new IOException("disk full");
+                }
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+        final HashJoin<Integer, Integer, Integer> join = HashJoin.<Integer, Integer, Integer>on(Function.identity(), Function.identity())
+                .withMemoryBudget(10)
+                .withSpillCodecs(codec, codec)
+                .withSpillDirectory(directory);
+        try (Stream<Pair<Integer, Integer>> joined = join.inner(IntStream.range(0, 1_000).boxed(), IntStream.range(0, 1_000).boxed())) {
+            assertThrows(UncheckedIOException.class, joined::count);
+            assertEquals(0L, filesIn(directory));
+        }
+    }
+
+    @Test
+    void customCodecsAreUsedWhenSpilling() {
+        final AtomicInteger writes = new AtomicInteger();
+        final SpillCodec<Integer> codec = new SpillCodec<Integer>() {
+            @Override
+            public void write(DataOutput out, Integer value) throws IOException {
+                writes.incrementAndGet();
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+        final HashJoin<Integer, Integer, Integer> join = HashJoin.<Integer, Integer, Integer>on(Function.identity(), Function.identity())
+                .withMemoryBudget(5)
+                .withSpillCodecs(codec, codec)
+                .withSpillDirectory(directory);
+        try (Stream<Pair<Integer, Integer>> joined = join.inner(IntStream.range(0, 100).boxed(), IntStream.range(50, 150).boxed())) {
+            assertEquals(50L, joined.count());
+        }
+        assertTrue(writes.get() >= 200);
+    }
+}
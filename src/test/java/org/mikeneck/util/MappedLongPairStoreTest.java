@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedLongPairStoreTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("pair-store");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    void appendAndRandomAccessAcrossSegments() throws IOException {
+        try (MappedLongPairStore store = MappedLongPairStore.open(directory.resolve("edges"), 4)) {
+            for (long i = 0; i < 10; i++) {
+                store.append(i, i * i);
+            }
+            assertAll(
+                    () -> assertEquals(10L, store.size()),
+                    () -> assertEquals(new LongPair(7L, 49L), store.get(7L)),
+                    () -> assertEquals(4L, store.getLeft(4L)),
+                    () -> assertEquals(81L, store.getRight(9L)),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> store.get(10L))
+            );
+        }
+    }
+
+    @Test
+    void reopenWithoutDeserialization() throws IOException {
+        final Path path = directory.resolve("series");
+        try (MappedLongPairStore store = MappedLongPairStore.open(path, 3)) {
+            store.appendAll(new long[]{1L, 2L, 3L, 4L}, new long[]{10L, 20L, 30L, 40L});
+        }
+        assertThrows(IllegalArgumentException.class, () -> MappedLongPairStore.open(path, 1024));
+        try (MappedLongPairStore store = MappedLongPairStore.open(path)) {
+            store.append(5L, 50L);
+            final AtomicLong sum = new AtomicLong();
+            store.forEach((left, right) -> sum.addAndGet(left * right));
+            assertAll(
+                    () -> assertEquals(5L, store.size()),
+                    () -> assertEquals(new LongPair(4L, 40L), store.get(3L)),
+                    () -> assertEquals(550L, sum.get())
+            );
+        }
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        final Path path = directory.resolve("foreign");
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> MappedLongPairStore.open(path));
+    }
+
+    @Test
+    void rejectsCorruptHeader() throws IOException {
+        final Path path = directory.resolve("corrupt");
+        try (MappedLongPairStore store = MappedLongPairStore.open(path, 4)) {
+            store.append(1L, 2L);
+        }
+        final byte[] bytes = Files.readAllBytes(path);
+        final byte[] zeroSegment = bytes.clone();
+        ByteBuffer.wrap(zeroSegment).order(ByteOrder.LITTLE_ENDIAN).putInt(8, 0);
+        Files.write(path, zeroSegment);
+        assertThrows(IOException.class, () -> MappedLongPairStore.open(path));
+
+        final byte[] oversized = bytes.clone();
+        ByteBuffer.wrap(oversized).order(ByteOrder.LITTLE_ENDIAN).putLong(16, 1_000L);
+        Files.write(path, oversized);
+        assertThrows(IOException.class, () -> MappedLongPairStore.open(path));
+    }
+
+    @Test
+    void appendAfterCloseFails() throws IOException {
+        final MappedLongPairStore store = MappedLongPairStore.open(directory.resolve("closed"), 2);
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.append(1L, 2L));
+    }
+
+    @Test
+    void readAfterCloseFails() throws IOException {
+        final MappedLongPairStore store = MappedLongPairStore.open(directory.resolve("closed"), 2);
+        store.append(1L, 2L);
+        store.close();
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> store.getLeft(0L)),
+                () -> assertThrows(IllegalStateException.class, () -> store.getRight(0L)),
+                () -> assertThrows(IllegalStateException.class, () -> store.get(0L)),
+                () -> assertThrows(IllegalStateException.class, () -> store.forEach((left, right) -> {}))
+        );
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonoidCollectorsTest {
+
+    private final Supplier<Integer> fail = () -> {
+        Assertions.fail("this code should not be executed");
+        return 0;
+    };
+
+    private static <T> T valueOf(Last<T> last) {
+        final AtomicReference<T> value = new AtomicReference<>();
+        last.map(v -> {
+            value.set(v);
+            return v;
+        });
+        return value.get();
+    }
+
+    @Test
+    void toFirstKeepsEncounterOrderInParallel() {
+        final First<Integer> actual = IntStream.range(0, 100_000).boxed()
+                .parallel()
+                .map(i -> i % 1_000 == 999 ? i : null)
+                .collect(MonoidCollectors.toFirst());
+        assertEquals(999, actual.or(fail).intValue());
+    }
+
+    @Test
+    void toLastKeepsEncounterOrderInParallel() {
+        final Last<Integer> actual = IntStream.range(0, 100_000).boxed()
+                .parallel()
+                .map(i -> i % 1_000 == 0 ? i : null)
+                .collect(MonoidCollectors.toLast());
+        assertEquals(99_000, valueOf(actual).intValue());
+    }
+
+    @Test
+    void toFirstStopsEvaluatingCandidatesOnceSettled() {
+        final AtomicInteger calls = new AtomicInteger();
+        final First<String> actual = Stream.of("a", "bb", "ccc", "dddd")
+                .collect(MonoidCollectors.toFirst(s -> {
+                    calls.incrementAndGet();
+                    return s.length() > 1 ? Optional.of(s) : Optional.empty();
+                }));
+        assertAll(
+                () -> assertEquals("bb", actual.or(() -> "")),
+                () -> assertEquals(2, calls.get())
+        );
+    }
+
+    @Test
+    void toLastOfEmptyStreamIsEmpty() {
+        final Last<String> actual = Stream.<String>empty()
+                .collect(MonoidCollectors.toLast(Optional::of));
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void acceptsWildcardCandidateFunctions() {
+        final Function<Object, ? extends Optional<String>> describe = o -> Optional.of("<" + o + ">");
+        assertAll(
+                () -> assertEquals("<1>", Stream.of(1, 2, 3).collect(MonoidCollectors.toFirst(describe)).or(() -> "")),
+                () -> assertEquals("<3>", Stream.of(1, 2, 3).collect(MonoidCollectors.toLast(describe)).or(() -> ""))
+        );
+    }
+
+    @Test
+    void foldingFirstMonoids() {
+        final First<Integer> actual = IntStream.range(0, 10_000).boxed()
+                .parallel()
+                .map(i -> i < 5_000 ? First.<Integer>empty() : First.of(i))
+                .collect(MonoidCollectors.folding(First::empty));
+        assertEquals(5_000, actual.or(fail).intValue());
+    }
+
+    @Test
+    void foldMappingUserMonoid() {
+        final Sum actual = IntStream.rangeClosed(1, 10_000).boxed()
+                .parallel()
+                .collect(MonoidCollectors.foldMappingUnordered(() -> new Sum(0L), i -> new Sum(i)));
+        assertEquals(50_005_000L, actual.value);
+    }
+
+    static class Sum implements Monoid<Long, Sum> {
+
+        private final long value;
+
+        Sum(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public Sum append(Sum other) {
+            return new Sum(value + other.value);
+        }
+    }
+}
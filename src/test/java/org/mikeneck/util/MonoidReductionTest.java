@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonoidReductionTest {
+
+    @Test
+    void firstOverArrayKeepsEncounterOrder() {
+        final Integer[] values = IntStream.range(0, 100_000).boxed()
+                .map(i -> i >= 70_000 ? i : null)
+                .toArray(Integer[]::new);
+        final First<Integer> actual = MonoidReduction.withIdentity(First::<Integer>empty)
+                .sequentialCutoff(100)
+                .reduce(values, First::of);
+        assertEquals(70_000, actual.or(() -> -1).intValue());
+    }
+
+    @Test
+    void nonCommutativeMonoidOverRandomAccessList() {
+        final List<Concat> values = IntStream.range(0, 5_000).mapToObj(i -> new Concat(i + ",")).collect(Collectors.toList());
+        final String expected = IntStream.range(0, 5_000).mapToObj(i -> i + ",").collect(Collectors.joining());
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Concat actual = MonoidReduction.withIdentity(() -> new Concat(""))
+                    .sequentialCutoff(7)
+                    .on(pool)
+                    .reduce(values);
+            assertEquals(expected, actual.value);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void nonCommutativeMonoidOverSpliterator() {
+        final List<Integer> values = new LinkedList<>();
+        IntStream.range(0, 5_000).forEach(values::add);
+        final String expected = IntStream.range(0, 5_000).mapToObj(i -> i + ",").collect(Collectors.joining());
+        final Concat actual = MonoidReduction.withIdentity(() -> new Concat(""))
+                .sequentialCutoff(3)
+                .reduce(values, i -> new Concat(i + ","));
+        assertEquals(expected, actual.value);
+    }
+
+    @Test
+    void emptyInputReturnsIdentity() {
+        assertAll(
+                () -> assertTrue(MonoidReduction.withIdentity(First::<String>empty).reduce(new ArrayList<First<String>>()).isEmpty()),
+                () -> assertTrue(MonoidReduction.withIdentity(First::<String>empty).reduce(new String[0], First::of).isEmpty()),
+                () -> assertTrue(MonoidReduction.withIdentity(First::<String>empty).reduce(new LinkedList<First<String>>().spliterator()).isEmpty())
+        );
+    }
+
+    @Test
+    void defaultCutoff() {
+        final Concat actual = MonoidReduction.withIdentity(() -> new Concat(""))
+                .reduce(Arrays.asList("a", "b", "c", "d", "e"), Concat::new);
+        assertEquals("abcde", actual.value);
+    }
+
+    @Test
+    void rejectsNonPositiveCutoff() {
+        assertThrows(IllegalArgumentException.class, () -> MonoidReduction.withIdentity(First::empty).sequentialCutoff(0));
+    }
+
+    static class Concat implements Monoid<String, Concat> {
+
+        private final String value;
+
+        Concat(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Concat append(Concat other) {
+            return new Concat(value + other.value);
+        }
+    }
+}
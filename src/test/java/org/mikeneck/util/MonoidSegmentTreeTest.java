@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonoidSegmentTreeTest {
+
+    @Test
+    void firstNonEmptyInRange() {
+        final MonoidSegmentTree<First<String>> tree = MonoidSegmentTree.of(First.empty(), Arrays.asList(
+                First.empty(), First.of("b"), First.empty(), First.of("d"), First.empty()));
+        assertAll(
+                () -> assertEquals("b", tree.query(0, 5).or(() -> "none")),
+                () -> assertEquals("d", tree.query(2, 5).or(() -> "none")),
+                () -> assertEquals("none", tree.query(4, 5).or(() -> "none")),
+                () -> assertEquals("none", tree.query(2, 2).or(() -> "none")),
+                () -> assertEquals("b", tree.all().or(() -> "none"))
+        );
+    }
+
+    @Test
+    void pointUpdates() {
+        final MonoidSegmentTree<First<String>> tree = MonoidSegmentTree.of(First.empty(), 10);
+        tree.set(7, First.of("h"));
+        tree.set(3, First.of("d"));
+        assertAll(
+                () -> assertEquals("d", tree.query(0, 10).or(() -> "none")),
+                () -> assertEquals("h", tree.query(4, 10).or(() -> "none")),
+                () -> assertEquals("h", tree.get(7).or(() -> "none"))
+        );
+        tree.set(3, First.empty());
+        assertEquals("h", tree.query(0, 10).or(() -> "none"));
+    }
+
+    @Test
+    void matchesLinearFoldForNonCommutativeMonoid() {
+        final Random random = new Random(7L);
+        final int size = 37;
+        final List<Concat> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(new Concat(Integer.toString(i)));
+        }
+        final MonoidSegmentTree<Concat> tree = MonoidSegmentTree.of(new Concat(""), values);
+        for (int round = 0; round < 1_000; round++) {
+            if (random.nextBoolean()) {
+                final int index = random.nextInt(size);
+                final Concat value = new Concat(Character.toString((char) ('a' + random.nextInt(26))));
+                values.set(index, value);
+                tree.set(index, value);
+            }
+            final int from = random.nextInt(size + 1);
+            final int to = from + random.nextInt(size + 1 - from);
+            Concat expected = new Concat("");
+            for (int i = from; i < to; i++) {
+                expected = expected.append(values.get(i));
+            }
+            assertEquals(expected.value, tree.query(from, to).value);
+        }
+    }
+
+    @Test
+    void rejectsOutOfRange() {
+        final MonoidSegmentTree<First<String>> tree = MonoidSegmentTree.of(First.empty(), 3);
+        assertAll(
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> tree.query(0, 4)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> tree.query(2, 1)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> tree.set(3, First.empty()))
+        );
+    }
+
+    static class Concat implements Monoid<String, Concat> {
+
+        private final String value;
+
+        Concat(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Concat append(Concat other) {
+            return new Concat(value + other.value);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PairKeyMapTest {
+
+    @Test
+    void putGetAndReplace() {
+        final PairKeyMap<String, Integer, String> map = new PairKeyMap<>();
+        assertNull(map.put("a", 1, "first"));
+        assertEquals("first", map.put("a", 1, "second"));
+        assertEquals("second", map.putIfAbsent("a", 1, "third"));
+        assertAll(
+                () -> assertEquals(1, map.size()),
+                () -> assertEquals("second", map.get("a", 1)),
+                () -> assertNull(map.get("a", 2)),
+                () -> assertEquals("none", map.getOrDefault("b", 1, "none")),
+                () -> assertTrue(map.containsKey("a", 1)),
+                () -> assertFalse(map.containsKey("b", 1))
+        );
+    }
+
+    @Test
+    void getKeyReturnsTheSameInstance() {
+        final PairKeyMap<String, String, Integer> map = new PairKeyMap<>();
+        final Pair<String, String> stored = new Pair<>("user", "role");
+        map.put(stored, 1);
+        map.put("other", "role", 2);
+        assertSame(stored, map.getKey("user", "role"));
+        assertSame(map.getKey("other", "role"), map.getKey("other", "role"));
+        assertEquals(new Pair<>("other", "role"), map.getKey("other", "role"));
+        assertNull(map.getKey("missing", "role"));
+    }
+
+    @Test
+    void computeIfAbsentCallsFunctionOnce() {
+        final PairKeyMap<Integer, Integer, String> map = new PairKeyMap<>();
+        final int[] calls = new int[1];
+        for (int i = 0; i < 3; i++) {
+            assertEquals("3:4", map.computeIfAbsent(3, 4, (l, r) -> {
+                calls[0]++;
+                return l + ":" + r;
+            }));
+        }
+        assertEquals(1, calls[0]);
+        assertThrows(NullPointerException.class, () -> map.computeIfAbsent(5, 6, (l, r) -> null));
+        assertFalse(map.containsKey(5, 6));
+    }
+
+    @Test
+    void agreesWithHashMapUnderRandomOperations() {
+        final Random random = new Random(17L);
+        final PairKeyMap<Integer, Integer, Integer> map = new PairKeyMap<>(2);
+        final IntPairKeyMap<Integer> ints = new IntPairKeyMap<>(2);
+        final LongPairKeyMap<Integer> longs = new LongPairKeyMap<>(2);
+        final Map<Pair<Integer, Integer>, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            final int left = random.nextInt(64) - 32;
+            final int right = random.nextInt(64) - 32;
+            final Pair<Integer, Integer> key = new Pair<>(left, right);
+            if (random.nextInt(3) == 0) {
+                final Integer removed = expected.remove(key);
+                assertEquals(removed, map.remove(left, right));
+                assertEquals(removed, ints.remove(left, right));
+                assertEquals(removed, longs.remove(left, right));
+            } else {
+                final Integer old = expected.put(key, i);
+                assertEquals(old, map.put(left, right, i));
+                assertEquals(old, ints.put(left, right, i));
+                assertEquals(old, longs.put(left, right, i));
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.size(), ints.size());
+            assertEquals(expected.size(), longs.size());
+        }
+        expected.forEach((key, value) -> {
+            assertEquals(value, map.get(key.getLeft(), key.getRight()));
+            assertEquals(value, ints.get(key.getLeft(), key.getRight()));
+            assertEquals(value, longs.get(key.getLeft(), key.getRight()));
+        });
+        final Map<Pair<Integer, Integer>, Integer> visited = new HashMap<>();
+        map.forEach((l, r, v) -> visited.put(new Pair<>(l, r), v));
+        assertEquals(expected, visited);
+        visited.clear();
+        ints.forEach((l, r, v) -> visited.put(new Pair<>(l, r), v));
+        assertEquals(expected, visited);
+        visited.clear();
+        longs.forEach((l, r, v) -> visited.put(new Pair<>((int) l, (int) r), v));
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void primitiveKeysKeepSignAndExtremes() {
+        final IntPairKeyMap<String> ints = new IntPairKeyMap<>();
+        ints.put(-1, 0, "a");
+        ints.put(0, -1, "b");
+        ints.put(Integer.MIN_VALUE, Integer.MAX_VALUE, "c");
+        final LongPairKeyMap<String> longs = new LongPairKeyMap<>();
+        longs.put(Long.MIN_VALUE, Long.MAX_VALUE, "d");
+        longs.put(0L, 31L, "e");
+        longs.put(1L, 0L, "f");
+        assertAll(
+                () -> assertEquals("a", ints.get(-1, 0)),
+                () -> assertEquals("b", ints.get(0, -1)),
+                () -> assertEquals("c", ints.get(Integer.MIN_VALUE, Integer.MAX_VALUE)),
+                () -> assertNull(ints.get(0, 0)),
+                () -> assertEquals("d", longs.get(Long.MIN_VALUE, Long.MAX_VALUE)),
+                () -> assertEquals("e", longs.get(0L, 31L)),
+                () -> assertEquals("f", longs.get(1L, 0L))
+        );
+        ints.forEach((l, r, v) -> assertEquals(v, ints.get(l, r)));
+    }
+
+    @Test
+    void clearEmptiesTheMaps() {
+        final PairKeyMap<String, String, String> map = new PairKeyMap<>();
+        map.put("a", "b", "c");
+        map.clear();
+        final IntPairKeyMap<String> ints = new IntPairKeyMap<>();
+        ints.put(0, 0, "zero");
+        ints.clear();
+        assertAll(
+                () -> assertTrue(map.isEmpty()),
+                () -> assertNull(map.get("a", "b")),
+                () -> assertTrue(ints.isEmpty()),
+                () -> assertNull(ints.get(0, 0))
+        );
+    }
+
+    @Test
+    void setInternsPairs() {
+        final PairKeySet<String, String> set = new PairKeySet<>();
+        final Pair<String, String> first = new Pair<>("a", "b");
+        assertSame(first, set.intern(first));
+        assertSame(first, set.intern(new Pair<>("a", "b")));
+        assertSame(first, set.intern("a", "b"));
+        assertFalse(set.add("a", "b"));
+        assertTrue(set.add("c", "d"));
+        assertSame(set.intern("c", "d"), set.intern("c", "d"));
+        assertTrue(set.contains("c", "d"));
+        assertTrue(set.remove("c", "d"));
+        assertFalse(set.contains("c", "d"));
+        assertEquals(1, set.size());
+    }
+}
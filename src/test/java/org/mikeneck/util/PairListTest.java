@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PairListTest {
+
+    @Nested
+    class GenericPairList {
+
+        @Test
+        void addAndView() {
+            final PairList<String, Integer> list = new PairList<>(1);
+            list.add("foo", 3);
+            list.add(new Pair<>("quux", 4));
+            list.addAll(new String[]{"a", "bb"}, new Integer[]{1, 2});
+            assertAll(
+                    () -> assertEquals(4, list.size()),
+                    () -> assertEquals(new Pair<>("foo", 3), list.get(0)),
+                    () -> assertEquals("quux", list.getLeft(1)),
+                    () -> assertEquals(2, list.getRight(3).intValue()),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> list.get(4))
+            );
+        }
+
+        @Test
+        void bulkAppendRejectsNull() {
+            final PairList<String, Integer> list = new PairList<>();
+            assertAll(
+                    () -> assertThrows(NullPointerException.class, () -> list.addAll(new String[]{"a"}, new Integer[]{null})),
+                    () -> assertThrows(IllegalArgumentException.class, () -> list.addAll(new String[]{"a"}, new Integer[0])),
+                    () -> assertTrue(list.isEmpty())
+            );
+        }
+
+        @Test
+        void sortIsStable() {
+            final PairList<String, Integer> list = new PairList<>();
+            list.addAll(new String[]{"c", "a", "b", "a"}, new Integer[]{1, 2, 3, 4});
+            list.sortByLeft(Comparator.naturalOrder());
+            assertEquals(Arrays.asList(new Pair<>("a", 2), new Pair<>("a", 4), new Pair<>("b", 3), new Pair<>("c", 1)), list);
+        }
+
+        @Test
+        void sortAndBinarySearchByRight() {
+            final PairList<String, Integer> list = new PairList<>();
+            list.addAll(new String[]{"c", "a", "b"}, new Integer[]{30, 10, 20});
+            list.sortByRight(Comparator.naturalOrder());
+            assertAll(
+                    () -> assertEquals(1, list.binarySearchRight(20, Comparator.naturalOrder())),
+                    () -> assertEquals(-1, list.binarySearchRight(5, Comparator.naturalOrder())),
+                    () -> assertEquals("b", list.getLeft(1))
+            );
+        }
+
+        @Test
+        void mapBimapAndReverse() {
+            final PairList<String, Integer> list = new PairList<>();
+            list.addAll(new String[]{"foo", "ba"}, new Integer[]{1, 2});
+            assertAll(
+                    () -> assertEquals(Arrays.asList(new Pair<>("foo", "1"), new Pair<>("ba", "2")), list.map(String::valueOf)),
+                    () -> assertEquals(Arrays.asList(new Pair<>("foo", 4), new Pair<>("ba", 4)), list.bimap((s, n) -> s.length() + n)),
+                    () -> assertEquals(Arrays.asList(new Pair<>(1, "foo"), new Pair<>(2, "ba")), list.reverse())
+            );
+        }
+    }
+
+    @Nested
+    class IntColumns {
+
+        @Test
+        void sortMatchesReferenceSort() {
+            final Random random = new Random(42L);
+            final IntPairList list = new IntPairList();
+            final List<IntPair> expected = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                final IntPair pair = new IntPair(random.nextInt(100), i);
+                list.add(pair.getLeft(), pair.getRight());
+                expected.add(pair);
+            }
+            expected.sort(Comparator.comparingInt(IntPair::getLeft));
+            list.sortByLeft();
+            assertEquals(expected, list);
+        }
+
+        @Test
+        void binarySearchMapAndForEach() {
+            final IntPairList list = new IntPairList();
+            list.addAll(new int[]{1, 3, 5}, new int[]{10, 30, 50});
+            final StringBuilder sb = new StringBuilder();
+            list.map(n -> n / 10).forEachPair((l, r) -> sb.append(l).append(r));
+            assertAll(
+                    () -> assertEquals(1, list.binarySearchLeft(3)),
+                    () -> assertTrue(list.binarySearchLeft(4) < 0),
+                    () -> assertEquals("113355", sb.toString()),
+                    () -> assertEquals(new IntPair(30, 3), list.reverse().get(1)),
+                    () -> assertEquals(new IntPair(5, 55), list.bimap(Integer::sum).get(2))
+            );
+        }
+    }
+
+    @Nested
+    class ObjLongColumns {
+
+        @Test
+        void sortByRightAndMap() {
+            final ObjLongPairList<String> list = new ObjLongPairList<>();
+            list.addAll(new String[]{"b", "a", "c"}, new long[]{2L, 1L, 3L});
+            list.sortByRight();
+            final ObjLongPairList<String> scaled = list.bimap((s, n) -> s.length() * n * 1_000_000_000_000L);
+            assertAll(
+                    () -> assertEquals(Arrays.asList(new ObjLongPair<>("a", 1L), new ObjLongPair<>("b", 2L), new ObjLongPair<>("c", 3L)), list),
+                    () -> assertEquals(2, list.binarySearchRight(3L)),
+                    () -> assertEquals(3_000_000_000_000L, scaled.getRight(2))
+            );
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PairPipelineTest {
+
+    @Test
+    void matchesUnfusedPipeline() {
+        final Optional<Pair<String, String>> expected = Optional.of("foo")
+                .map(Pair.mkPair(String::length))
+                .map(Pair.mapPair(n -> n * n * n))
+                .map(Pair.bimapPair((s, n) -> s + Integer.toHexString(n)));
+        final Optional<Pair<String, String>> actual = Optional.of("foo")
+                .flatMap(PairPipeline.<String, Integer>mkPair(String::length)
+                        .mapPair(n -> n * n * n)
+                        .bimapPair((s, n) -> s + Integer.toHexString(n))
+                        .toPair());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void filterAndProjectLeft() {
+        final PairPipeline<String, Integer> pipeline = PairPipeline.<String, Integer>mkPair(String::length)
+                .filterRight(n -> n > 3);
+        assertAll(
+                () -> assertEquals(Optional.of("quux"), Optional.of("quux").flatMap(pipeline.left())),
+                () -> assertEquals(Optional.empty(), Optional.of("foo").flatMap(pipeline.left())),
+                () -> assertEquals(Optional.of(4), Optional.of("quux").flatMap(pipeline.right()))
+        );
+    }
+
+    @Test
+    void asPredicate() {
+        final String actual = Stream.of("a", "bb", "ccc", "dddd")
+                .filter(PairPipeline.<String, Integer>mkPair(String::length).filter((s, n) -> n % 2 == 0).asPredicate())
+                .collect(Collectors.joining(","));
+        assertEquals("bb,dddd", actual);
+    }
+
+    @Test
+    void filteredValueSkipsLaterStages() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<String, String> function = PairPipeline.<String, Integer>mkPair(String::length)
+                .filterRight(n -> n > 10)
+                .mapPair(n -> calls.incrementAndGet())
+                .project((s, n) -> s + n, s -> "filtered");
+        assertAll(
+                () -> assertEquals("filtered", function.apply("foo")),
+                () -> assertEquals(0, calls.get())
+        );
+    }
+
+    @Test
+    void nullStageFiltersValue() {
+        final Optional<Pair<String, String>> actual = Optional.of("foo")
+                .flatMap(PairPipeline.<String, String>mkPair(s -> null).toPair());
+        assertFalse(actual.isPresent());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveFirstLastTest {
+
+    private final IntSupplier fail = () -> {
+        Assertions.fail("this code should not be executed");
+        return 0;
+    };
+
+    @Nested
+    class FirstIntTest {
+
+        @Test
+        void keepsFirstPresentValue() {
+            final FirstInt actual = FirstInt.empty()
+                    .append(OptionalInt.empty())
+                    .append(OptionalInt.of(1))
+                    .append(2)
+                    .append(() -> OptionalInt.of(3));
+            assertEquals(1, actual.or(fail));
+        }
+
+        @Test
+        void doesNotEvaluateSupplierOnceSettled() {
+            final FirstInt actual = FirstInt.of(1).append(() -> OptionalInt.of(fail.getAsInt()));
+            assertEquals(1, actual.orElse(-1));
+        }
+
+        @Test
+        void emptyFallsBack() {
+            assertAll(
+                    () -> assertTrue(FirstInt.empty().isEmpty()),
+                    () -> assertEquals(-1, FirstInt.empty().orElse(-1)),
+                    () -> assertEquals(-1, FirstInt.empty().or(() -> -1)),
+                    () -> assertSame(FirstInt.empty(), FirstInt.of(OptionalInt.empty()))
+            );
+        }
+
+        @Test
+        void monoidAppend() {
+            assertAll(
+                    () -> assertEquals(1, FirstInt.of(1).append(FirstInt.of(2)).orElse(-1)),
+                    () -> assertEquals(2, FirstInt.empty().append(FirstInt.of(2)).orElse(-1)),
+                    () -> assertTrue(FirstInt.empty().append(FirstInt.empty()).isEmpty())
+            );
+        }
+
+        @Test
+        void firstValidReading() {
+            FirstInt first = FirstInt.empty();
+            for (int reading : IntStream.of(-1, -1, 42, 43).toArray()) {
+                first = reading < 0 ? first : first.append(reading);
+            }
+            assertEquals(OptionalInt.of(42), first.toOptional());
+        }
+
+        @Test
+        void mapAndBoxed() {
+            assertEquals("6", FirstInt.of(3).map(n -> n * 2).boxed().map(Object::toString).or(() -> "empty"));
+        }
+    }
+
+    @Nested
+    class FirstLongTest {
+
+        @Test
+        void keepsFirstPresentValue() {
+            final FirstLong actual = FirstLong.of(OptionalLong.empty())
+                    .append(OptionalLong.of(10L))
+                    .append(20L);
+            assertEquals(10L, actual.orElse(-1L));
+        }
+    }
+
+    @Nested
+    class FirstDoubleTest {
+
+        @Test
+        void keepsFirstPresentValue() {
+            final FirstDouble actual = FirstDouble.empty()
+                    .append(OptionalDouble.empty())
+                    .append(0.5)
+                    .append(1.5);
+            assertEquals(0.5, actual.orElse(Double.NaN));
+        }
+    }
+
+    @Nested
+    class LastIntTest {
+
+        @Test
+        void keepsLastPresentValue() {
+            final LastInt actual = LastInt.empty()
+                    .append(1)
+                    .append(OptionalInt.of(2))
+                    .append(() -> OptionalInt.of(3))
+                    .append(OptionalInt.empty());
+            assertEquals(3, actual.or(fail));
+        }
+
+        @Test
+        void monoidAppend() {
+            assertAll(
+                    () -> assertEquals(2, LastInt.of(1).append(LastInt.of(2)).orElse(-1)),
+                    () -> assertEquals(1, LastInt.of(1).append(LastInt.empty()).orElse(-1)),
+                    () -> assertTrue(LastInt.empty().append(LastInt.empty()).isEmpty())
+            );
+        }
+
+        @Test
+        void emptyFallsBack() {
+            assertAll(
+                    () -> assertEquals(-1, LastInt.empty().orElse(-1)),
+                    () -> assertEquals(OptionalInt.empty(), LastInt.empty().toOptional())
+            );
+        }
+    }
+
+    @Nested
+    class LastLongTest {
+
+        @Test
+        void keepsLastPresentValue() {
+            assertEquals(OptionalLong.of(3L), LastLong.of(1L).append(2L).append(3L).toOptional());
+        }
+    }
+
+    @Nested
+    class LastDoubleTest {
+
+        @Test
+        void keepsLastPresentValue() {
+            final LastDouble actual = LastDouble.of(OptionalDouble.of(1.0)).append(OptionalDouble.empty()).map(d -> d / 4);
+            assertEquals(0.25, actual.orElse(Double.NaN));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PrimitivePairTest {
+
+    @Nested
+    class IntPairTest {
+
+        @Test
+        void mapAndBimap() {
+            final IntPair actual = new IntPair(3, 4).map(n -> n * n).bimap((l, r) -> l + r);
+            assertEquals(new IntPair(3, 19), actual);
+        }
+
+        @Test
+        void reverse() {
+            assertEquals(new IntPair(2, 1), new IntPair(1, 2).reverse());
+        }
+
+        @Test
+        void fibonacci() {
+            final IntPair actual = IntStream.of(1)
+                    .mapToObj(IntPair.mkPair(n -> n))
+                    .map(p -> new IntPair(p.getRight(), p.getLeft() + p.getRight()))
+                    .map(p -> new IntPair(p.getRight(), p.getLeft() + p.getRight()))
+                    .map(p -> new IntPair(p.getRight(), p.getLeft() + p.getRight()))
+                    .map(IntPair.mapPair(n -> n * 10))
+                    .findFirst()
+                    .orElseThrow(IllegalStateException::new);
+            assertEquals(new IntPair(3, 50), actual);
+        }
+
+        @Test
+        void toAndFromPair() {
+            assertEquals(new IntPair(1, 2), IntPair.of(new IntPair(1, 2).toPair()));
+        }
+
+        @Test
+        void mapToObj() {
+            assertEquals(new IntObjPair<>(1, "2"), new IntPair(1, 2).mapToObj(Integer::toString));
+        }
+    }
+
+    @Nested
+    class LongPairTest {
+
+        @Test
+        void pipeline() {
+            final LongPair actual = Optional.of(5L)
+                    .map(l -> LongPair.mkPair(n -> n * 2).apply(l))
+                    .map(LongPair.bimapPair((l, r) -> l * r))
+                    .orElseThrow(IllegalStateException::new);
+            assertEquals(new LongPair(5L, 50L), actual);
+        }
+
+        @Test
+        void toAndFromPair() {
+            assertEquals(new Pair<>(1L, 2L), LongPair.of(new Pair<>(1L, 2L)).toPair());
+        }
+    }
+
+    @Nested
+    class DoublePairTest {
+
+        @Test
+        void mapAndReverse() {
+            assertEquals(new DoublePair(0.25, 1.0), new DoublePair(1.0, 0.5).map(d -> d * d).reverse());
+        }
+
+        @Test
+        void mapToObj() {
+            assertEquals(new DoubleObjPair<>(1.5, "2.5"), new DoublePair(1.5, 2.5).mapToObj(Double::toString));
+            assertEquals(new DoubleObjPair<>(1.5, "1.5:2.5"), new DoublePair(1.5, 2.5).mapToObj(Double::toString)
+                    .bimap((d, s) -> d + ":" + s));
+        }
+    }
+
+    @Nested
+    class ObjDoublePairTest {
+
+        @Test
+        void mapAndBimap() {
+            final ObjDoublePair<String> actual = Optional.of("foo")
+                    .map(ObjDoublePair.mkPair(String::length))
+                    .map(ObjDoublePair.mapPair(d -> d / 2))
+                    .map(ObjDoublePair.bimapPair((s, d) -> s.length() * d))
+                    .orElseThrow(IllegalStateException::new);
+            assertEquals(new ObjDoublePair<>("foo", 4.5), actual);
+        }
+
+        @Test
+        void reverse() {
+            assertEquals(new DoubleObjPair<>(1.5, "foo"), new ObjDoublePair<>("foo", 1.5).reverse());
+            assertEquals(new ObjDoublePair<>("foo", 1.5), new DoubleObjPair<>(1.5, "foo").reverse());
+        }
+
+        @Test
+        void toAndFromPair() {
+            assertEquals(new Pair<>("foo", 1.5), ObjDoublePair.of(new Pair<>("foo", 1.5)).toPair());
+        }
+    }
+
+    @Nested
+    class ObjLongPairTest {
+
+        @Test
+        void mkPair() {
+            final ObjLongPair<String> actual = Optional.of("foo")
+                    .map(ObjLongPair.mkPair(String::length))
+                    .map(ObjLongPair.mapPair(n -> n * 1_000_000_000_000L))
+                    .orElseThrow(IllegalStateException::new);
+            assertEquals(new ObjLongPair<>("foo", 3_000_000_000_000L), actual);
+        }
+
+        @Test
+        void bimap() {
+            final ObjLongPair<String> actual = new ObjLongPair<>("foo", 2L).bimap((s, n) -> s.length() * n);
+            assertEquals(6L, actual.getRight());
+        }
+
+        @Test
+        void reverse() {
+            assertEquals(new LongObjPair<>(1L, "foo"), new ObjLongPair<>("foo", 1L).reverse());
+        }
+
+        @Test
+        void toAndFromPair() {
+            assertEquals(new Pair<>("foo", 1L), ObjLongPair.of(new Pair<>("foo", 1L)).toPair());
+        }
+    }
+
+    @Nested
+    class IntObjPairTest {
+
+        @Test
+        void mapAndBimap() {
+            final IntObjPair<String> actual = IntObjPair.<String>mkPair(Integer::toHexString).apply(255)
+                    .map(String::toUpperCase)
+                    .bimap((n, s) -> n + ":" + s);
+            assertEquals(new IntObjPair<>(255, "255:FF"), actual);
+        }
+
+        @Test
+        void reverse() {
+            assertEquals(new ObjIntPair<>("foo", 1), new IntObjPair<>(1, "foo").reverse());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductTest {
+
+    private static List<Pair<String, Integer>> latencies(int count) {
+        final Random random = new Random(25L);
+        final List<Pair<String, Integer>> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new Pair<>("request-" + i, random.nextInt(1_000)));
+        }
+        return list;
+    }
+
+    private final Product.Schema<Pair<String, Integer>> schema = Product.schema();
+    private final Product.Slot<First<String>> first = schema.slot(First::empty, pair -> First.of(pair.getLeft()));
+    private final Product.Slot<Last<String>> last = schema.slot(Last::empty, pair -> Last.of(pair.getLeft()));
+    private final Product.Slot<Count> count = schema.slot(Count::new, pair -> new Count(1));
+    private final Product.Slot<Arg<String, Integer>> slowest = schema.slot(Arg::max, pair -> Arg.<String, Integer>max().of(pair));
+
+    private void assertAggregates(List<Pair<String, Integer>> list, Product<Pair<String, Integer>> product) {
+        final Pair<String, Integer> max = list.stream()
+                .max(Comparator.<Pair<String, Integer>, Integer>comparing(Pair::getRight)
+                        .thenComparing(Pair::getLeft, Comparator.reverseOrder()))
+                .orElseThrow(AssertionError::new);
+        assertEquals(list.get(0).getLeft(), product.get(first).or(() -> "none"));
+        assertEquals(list.get(list.size() - 1).getLeft(), product.get(last).or(() -> "none"));
+        assertEquals(list.size(), product.get(count).value);
+        assertEquals(max, product.get(slowest).toPair().orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void computesEveryAggregateInOnePass() {
+        final List<Pair<String, Integer>> list = latencies(10_000);
+        assertEquals(4, schema.size());
+        assertAggregates(list, list.stream().collect(schema.collector()));
+        assertAggregates(list, list.parallelStream().collect(schema.collector()));
+        assertAggregates(list, MonoidReduction.withIdentity(schema::identity)
+                .sequentialCutoff(128)
+                .reduce(list, schema::lift));
+    }
+
+    @Test
+    void appendIsComponentWise() {
+        final Product<Pair<String, Integer>> a = schema.lift(new Pair<>("a", 5));
+        final Product<Pair<String, Integer>> b = schema.lift(new Pair<>("b", 9));
+        final Product<Pair<String, Integer>> ab = a.append(b);
+        assertEquals("a", ab.get(first).or(() -> "none"));
+        assertEquals("b", ab.get(last).or(() -> "none"));
+        assertEquals(2, ab.get(count).value);
+        assertEquals("b", ab.get(slowest).getItem().orElse(null));
+        assertEquals(1, a.get(count).value, "append leaves operands untouched");
+        final Product<Pair<String, Integer>> identity = schema.identity();
+        assertTrue(identity.get(first).isEmpty());
+        assertEquals(ab.get(count).value, identity.append(ab).append(identity).get(count).value);
+    }
+
+    @Test
+    void rejectsOtherSchemasAndLateSlots() {
+        final Product.Schema<Pair<String, Integer>> other = Product.schema();
+        final Product.Slot<Count> otherCount = other.slot(Count::new, pair -> new Count(1));
+        final Product<Pair<String, Integer>> product = schema.identity();
+        assertThrows(IllegalArgumentException.class, () -> product.get(otherCount));
+        assertThrows(IllegalArgumentException.class, () -> product.append(other.identity()));
+        assertThrows(IllegalStateException.class, () -> schema.slot(Count::new, pair -> new Count(1)));
+    }
+
+    @Test
+    void monoidPairCombinesBothSides() {
+        final MonoidPair<Count, Arg<String, Integer>> left = MonoidPair.of(new Count(2), Arg.<String, Integer>min().of("x", 3));
+        final MonoidPair<Count, Arg<String, Integer>> right = MonoidPair.of(new Count(5), Arg.<String, Integer>min().of("y", 1));
+        final MonoidPair<Count, Arg<String, Integer>> merged = left.append(right);
+        assertEquals(7, merged.getLeft().value);
+        assertEquals("y", merged.getRight().getItem().orElse(null));
+        assertEquals(merged, MonoidPair.of(merged.toPair()));
+    }
+
+    static class Count implements Monoid<Integer, Count> {
+
+        private final int value;
+
+        Count() {
+            this(0);
+        }
+
+        Count(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Count append(Count other) {
+            return new Count(value + other.value);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SketchTest {
+
+    @Test
+    void hyperLogLogEstimatesWithinError() {
+        for (int distinct : new int[]{10, 1_000, 200_000}) {
+            final HyperLogLog sketch = HyperLogLog.create();
+            for (int i = 0; i < distinct; i++) {
+                sketch.add("user-" + i);
+                sketch.add("user-" + i);
+            }
+            final double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+            assertTrue(error <= 3 * sketch.relativeError(), () -> distinct + " estimated as " + sketch.estimate());
+        }
+    }
+
+    @Test
+    void hyperLogLogMergeEqualsUnion() {
+        final HyperLogLog left = HyperLogLog.withPrecision(12);
+        final HyperLogLog right = HyperLogLog.withPrecision(12);
+        final HyperLogLog all = HyperLogLog.withPrecision(12);
+        for (long i = 0; i < 50_000; i++) {
+            (i % 3 == 0 ? left : right).add(i);
+            all.add(i);
+        }
+        final HyperLogLog merged = left.append(right);
+        assertEquals(all.estimate(), merged.estimate());
+        assertEquals(merged.estimate(), right.append(left).estimate());
+        assertEquals(merged.estimate(), merged.append(merged).estimate());
+        assertEquals(merged.estimate(), merged.append(HyperLogLog.withPrecision(12)).estimate());
+        assertThrows(IllegalArgumentException.class, () -> left.append(HyperLogLog.withPrecision(10)));
+    }
+
+    @Test
+    void countMinNeverUnderCountsAndStaysWithinBound() {
+        final Random random = new Random(23L);
+        final CountMinSketch sketch = CountMinSketch.withError(0.001, 0.01);
+        final Map<Integer, Long> exact = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            final int item = (int) Math.abs(random.nextGaussian() * 1_000);
+            sketch.add(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+        int violations = 0;
+        for (Map.Entry<Integer, Long> entry : exact.entrySet()) {
+            final long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue());
+            if (estimate - entry.getValue() > sketch.errorBound()) {
+                violations++;
+            }
+        }
+        assertTrue(violations <= exact.size() / 100 + 1, () -> "violations");
+        assertEquals(100_000L, sketch.getTotal());
+    }
+
+    @Test
+    void countMinMergeAddsCounts() {
+        final CountMinSketch left = CountMinSketch.of(64, 4);
+        final CountMinSketch right = CountMinSketch.of(64, 4);
+        left.add("a", 3L);
+        right.add("a", 4L);
+        right.add("b");
+        final CountMinSketch merged = left.append(right);
+        assertTrue(merged.estimate("a") >= 7L);
+        assertEquals(8L, merged.getTotal());
+        assertEquals(3L, left.getTotal());
+        assertThrows(IllegalArgumentException.class, () -> left.append(CountMinSketch.of(32, 4)));
+    }
+
+    @Test
+    void kllQuantilesWithinRankError() {
+        final Random random = new Random(7L);
+        final KllSketch sketch = KllSketch.create();
+        final double[] values = new double[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1_000;
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        for (double fraction : new double[]{0.01, 0.25, 0.5, 0.9, 0.99}) {
+            final double estimate = sketch.quantile(fraction);
+            final int index = Arrays.binarySearch(values, estimate);
+            final double actualRank = (double) (index >= 0 ? index : -index - 1) / values.length;
+            assertEquals(fraction, actualRank, 2 * sketch.normalizedRankError(), () -> "quantile " + fraction);
+        }
+        assertEquals(values[0], sketch.quantile(0.0));
+        assertEquals(values[values.length - 1], sketch.quantile(1.0));
+        assertEquals(0.5, sketch.rank(500.0), 2 * sketch.normalizedRankError());
+    }
+
+    @Test
+    void kllMergedShardsMatchWholeStream() {
+        final Random random = new Random(11L);
+        KllSketch merged = KllSketch.create();
+        for (int shard = 0; shard < 8; shard++) {
+            final KllSketch partial = KllSketch.create();
+            for (int i = 0; i < 20_000; i++) {
+                partial.add(random.nextGaussian());
+            }
+            merged = merged.append(partial);
+        }
+        assertEquals(160_000L, merged.getN());
+        assertEquals(0.0, merged.quantile(0.5), 0.05);
+        assertEquals(1.2816, merged.quantile(0.9), 0.05);
+        assertTrue(KllSketch.create().append(KllSketch.create()).isEmpty());
+        assertTrue(Double.isNaN(KllSketch.create().quantile(0.5)));
+    }
+
+    @Test
+    void sketchesRoundTripThroughCodecs() {
+        final HyperLogLog hll = HyperLogLog.withPrecision(8);
+        final CountMinSketch cms = CountMinSketch.of(16, 3);
+        final KllSketch kll = KllSketch.withK(32);
+        for (int i = 0; i < 5_000; i++) {
+            hll.add(i);
+            cms.add("k" + (i % 50));
+            kll.add(i);
+        }
+        final HyperLogLog hllCopy = Codecs.HYPER_LOG_LOG.read(Codecs.encode(Codecs.HYPER_LOG_LOG, hll));
+        final CountMinSketch cmsCopy = Codecs.COUNT_MIN_SKETCH.read(Codecs.encode(Codecs.COUNT_MIN_SKETCH, cms));
+        final KllSketch kllCopy = Codecs.KLL_SKETCH.read(Codecs.encode(Codecs.KLL_SKETCH, kll));
+        assertAll(
+                () -> assertEquals(hll.estimate(), hllCopy.estimate()),
+                () -> assertEquals(cms.estimate("k7"), cmsCopy.estimate("k7")),
+                () -> assertEquals(cms.getTotal(), cmsCopy.getTotal()),
+                () -> assertEquals(kll.getN(), kllCopy.getN()),
+                () -> assertEquals(kll.quantile(0.3), kllCopy.quantile(0.3)),
+                () -> assertEquals(kll.getMax(), kllCopy.getMax())
+        );
+        kllCopy.add(1.0);
+        assertEquals(kll.getN() + 1, kllCopy.getN());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingWindowTest {
+
+    @Nested
+    class CountWindowTest {
+
+        @Test
+        void firstValidReadingInLastEvents() {
+            final CountWindow<First<String>> window = CountWindow.of(3, First.empty());
+            window.push(First.of("a"));
+            window.push(First.empty());
+            window.push(First.of("c"));
+            assertEquals("a", window.fold().or(() -> "none"));
+            window.push(First.empty());
+            assertEquals("c", window.fold().or(() -> "none"));
+            window.push(First.empty());
+            window.push(First.empty());
+            assertAll(
+                    () -> assertTrue(window.fold().isEmpty()),
+                    () -> assertEquals(3, window.size())
+            );
+        }
+
+        @Test
+        void matchesNaiveFoldForNonCommutativeMonoid() {
+            final Random random = new Random(11L);
+            final CountWindow<Concat> window = CountWindow.of(7, new Concat(""));
+            final Deque<Concat> naive = new ArrayDeque<>();
+            for (int i = 0; i < 1_000; i++) {
+                final Concat value = new Concat(Character.toString((char) ('a' + random.nextInt(26))));
+                window.push(value);
+                naive.addLast(value);
+                if (naive.size() > 7) {
+                    naive.removeFirst();
+                }
+                Concat expected = new Concat("");
+                for (Concat c : naive) {
+                    expected = expected.append(c);
+                }
+                assertEquals(expected.value, window.fold().value);
+            }
+        }
+
+        @Test
+        void emptyWindowFoldsToIdentity() {
+            final CountWindow<Concat> window = CountWindow.of(2, new Concat(""));
+            window.push(new Concat("a"));
+            window.clear();
+            assertAll(
+                    () -> assertEquals("", window.fold().value),
+                    () -> assertThrows(IllegalArgumentException.class, () -> CountWindow.of(0, new Concat("")))
+            );
+        }
+    }
+
+    @Nested
+    class TimeWindowTest {
+
+        @Test
+        void keepsValuesWithinLength() {
+            final AtomicLong clock = new AtomicLong();
+            final TimeWindow<Concat> window = TimeWindow.of(60, clock::get, new Concat(""));
+            window.push(new Concat("a"));
+            clock.set(30);
+            window.push(new Concat("b"));
+            clock.set(59);
+            assertEquals("ab", window.fold().value);
+            clock.set(60);
+            assertEquals("b", window.fold().value);
+            clock.set(200);
+            assertAll(
+                    () -> assertEquals("", window.fold().value),
+                    () -> assertEquals(0, window.size())
+            );
+        }
+
+        @Test
+        void firstValidReadingInPastPeriod() {
+            final TimeWindow<First<Integer>> window = TimeWindow.of(10, () -> 0L, First.empty());
+            window.push(0, First.of(1));
+            window.push(5, First.empty());
+            window.push(8, First.of(3));
+            assertAll(
+                    () -> assertEquals(1, window.fold(9).or(() -> -1).intValue()),
+                    () -> assertEquals(3, window.fold(15).or(() -> -1).intValue()),
+                    () -> assertTrue(window.fold(18).isEmpty())
+            );
+        }
+
+        @Test
+        void rejectsOutOfOrderTimestamps() {
+            final TimeWindow<Concat> window = TimeWindow.of(10, () -> 0L, new Concat(""));
+            window.push(5, new Concat("a"));
+            assertThrows(IllegalArgumentException.class, () -> window.push(4, new Concat("b")));
+        }
+    }
+
+    static class Concat implements Monoid<String, Concat> {
+
+        private final String value;
+
+        Concat(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Concat append(Concat other) {
+            return new Concat(value + other.value);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpeculativeFirstTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void higherPriorityWinsEvenWhenLowerFinishesFirst() {
+        final CountDownLatch secondDone = new CountDownLatch(1);
+        final First<String> actual = SpeculativeFirst.<String>on(executor)
+                .append(() -> {
+                    await(secondDone);
+                    return Optional.of("first");
+                })
+                .append(() -> {
+                    secondDone.countDown();
+                    return Optional.of("second");
+                })
+                .evaluate();
+        assertEquals("first", actual.or(() -> "none"));
+    }
+
+    @Test
+    void fallsBackToLowerPriorityCandidate() {
+        final First<String> actual = SpeculativeFirst.<String>on(executor)
+                .append(Optional::empty)
+                .append(Optional::empty)
+                .append(() -> Optional.of("third"))
+                .evaluate();
+        assertEquals("third", actual.or(() -> "none"));
+    }
+
+    @Test
+    void allEmptyReturnsEmpty() {
+        assertAll(
+                () -> assertTrue(SpeculativeFirst.<String>on(executor).evaluate().isEmpty()),
+                () -> assertTrue(SpeculativeFirst.<String>on(executor).append(Optional::empty).append(Optional::empty).evaluate().isEmpty())
+        );
+    }
+
+    @Test
+    void cancelsLowerPriorityWorkOnceSettled() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final First<String> actual = SpeculativeFirst.<String>on(executor)
+                .append(() -> {
+                    await(started);
+                    return Optional.of("first");
+                })
+                .append(() -> {
+                    started.countDown();
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return Optional.of("second");
+                })
+                .evaluate();
+        assertAll(
+                () -> assertEquals("first", actual.or(() -> "none")),
+                () -> assertTrue(interrupted.await(5, TimeUnit.SECONDS))
+        );
+    }
+
+    @Test
+    void failureOfUnneededCandidateIsIgnored() {
+        final First<String> actual = SpeculativeFirst.<String>on(executor)
+                .append(() -> Optional.of("first"))
+                .append(() -> {
+                    throw new IllegalStateException("unused");
+                })
+                .evaluate();
+        assertEquals("first", actual.or(() -> "none"));
+    }
+
+    @Test
+    void failureOfNeededCandidateIsRethrown() {
+        final SpeculativeFirst<String> speculative = SpeculativeFirst.<String>on(executor)
+                .append(Optional::empty)
+                .append(() -> {
+                    throw new IllegalStateException("needed");
+                });
+        final IllegalStateException e = assertThrows(IllegalStateException.class, speculative::evaluate);
+        assertEquals("needed", e.getMessage());
+    }
+
+    @Test
+    void rejectedCandidatesRunOnCallingThread() {
+        final First<String> actual = SpeculativeFirst.<String>on(command -> {
+            throw new RejectedExecutionException();
+        })
+                .append(Optional::empty)
+                .append(() -> Optional.of("second"))
+                .evaluate();
+        assertEquals("second", actual.or(() -> "none"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
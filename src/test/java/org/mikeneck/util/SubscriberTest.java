@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubscriberTest {
+
+    /**
+     * Synchronous publisher of {@code 0, 1, ...} (endless when {@code count < 0}) honouring demand and cancellation.
+     */
+    private static final class RangePublisher implements Publisher<Integer> {
+        private final long count;
+        private final RuntimeException failure;
+        private long emitted;
+        private long outstanding;
+        private long maxOutstanding;
+        private boolean cancelled;
+
+        private RangePublisher(long count) {
+            this(count, null);
+        }
+
+        private RangePublisher(long count, RuntimeException failure) {
+            this.count = count;
+            this.failure = failure;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    outstanding += n;
+                    maxOutstanding = Math.max(maxOutstanding, outstanding);
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (outstanding > 0 && !cancelled) {
+                        if (count >= 0 && emitted == count) {
+                            cancelled = true;
+                            if (failure == null) {
+                                subscriber.onComplete();
+                            } else {
+                                subscriber.onError(failure);
+                            }
+                            break;
+                        }
+                        outstanding--;
+                        subscriber.onNext((int) emitted++);
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static <T> T valueOf(Last<T> last) {
+        final AtomicReference<T> value = new AtomicReference<>();
+        last.map(v -> {
+            value.set(v);
+            return v;
+        });
+        return value.get();
+    }
+
+    @Test
+    void firstCancelsEndlessPublisherOnceSettled() throws Exception {
+        final RangePublisher publisher = new RangePublisher(-1);
+        final FirstSubscriber<Integer, Integer> subscriber = FirstSubscriber.matching(i -> i == 100);
+        publisher.subscribe(subscriber);
+        assertEquals(Integer.valueOf(100), subscriber.result().get().or(() -> -1));
+        assertTrue(publisher.cancelled);
+        assertEquals(101L, publisher.emitted);
+    }
+
+    @Test
+    void firstOfExhaustedPublisherIsEmpty() throws Exception {
+        final FirstSubscriber<Integer, String> subscriber = FirstSubscriber.mapping(i -> Optional.empty());
+        new RangePublisher(10).subscribe(subscriber);
+        assertTrue(subscriber.result().get().isEmpty());
+    }
+
+    @Test
+    void demandStaysBounded() throws Exception {
+        final RangePublisher publisher = new RangePublisher(1_000);
+        final LastSubscriber<Integer, Integer> subscriber = LastSubscriber.mapping(Optional::of, 8);
+        publisher.subscribe(subscriber);
+        assertEquals(Integer.valueOf(999), valueOf(subscriber.result().get()));
+        assertTrue(publisher.maxOutstanding <= 8, () -> "outstanding " + publisher.maxOutstanding);
+    }
+
+    @Test
+    void lastTracksLatestMatch() throws Exception {
+        final LastSubscriber<Integer, Integer> subscriber = LastSubscriber.matching(i -> i % 7 == 0);
+        new RangePublisher(100_000).subscribe(subscriber);
+        assertEquals(Integer.valueOf(99_995), valueOf(subscriber.result().get()));
+        final LastSubscriber<Integer, Integer> empty = LastSubscriber.of();
+        new RangePublisher(0).subscribe(empty);
+        assertTrue(empty.result().get().isEmpty());
+    }
+
+    @Test
+    void errorsCompleteResultExceptionally() {
+        final LastSubscriber<Integer, Integer> subscriber = LastSubscriber.of();
+        new RangePublisher(5, new IllegalStateException("cursor closed")).subscribe(subscriber);
+        final ExecutionException thrown = assertThrows(ExecutionException.class, () -> subscriber.result().get());
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void throwingMapperCancelsAndCompletesExceptionally() {
+        final RangePublisher publisher = new RangePublisher(-1);
+        final LastSubscriber<Integer, Integer> subscriber = LastSubscriber.mapping(i -> {
+            if (i == 3) {
+                throw new IllegalArgumentException("bad element " + i);
+            }
+            return Optional.of(i);
+        });
+        publisher.subscribe(subscriber);
+        final ExecutionException thrown = assertThrows(ExecutionException.class, () -> subscriber.result().get());
+        assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+        assertTrue(publisher.cancelled);
+        assertEquals(4L, publisher.emitted);
+    }
+
+    @Test
+    void cancellingResultCancelsSubscription() {
+        final FirstSubscriber<Integer, Integer> subscriber = FirstSubscriber.of();
+        final AtomicReference<Boolean> cancelled = new AtomicReference<>(false);
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+        final CompletableFuture<First<Integer>> result = subscriber.result();
+        result.cancel(true);
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void secondSubscriptionIsCancelled() {
+        final FirstSubscriber<Integer, Integer> subscriber = FirstSubscriber.of();
+        new RangePublisher(-1).subscribe(subscriber);
+        final RangePublisher second = new RangePublisher(-1);
+        second.subscribe(subscriber);
+        assertTrue(second.cancelled);
+        assertEquals(0L, second.emitted);
+    }
+
+    @Test
+    void rejectsInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> FirstSubscriber.mapping(Optional::of, 0));
+    }
+}
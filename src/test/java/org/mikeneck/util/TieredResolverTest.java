@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TieredResolverTest {
+
+    private static final class CountingSource implements Function<String, Optional<String>> {
+        private final Map<String, String> values = new HashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingSource put(String key, String value) {
+            values.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Optional<String> apply(String key) {
+            calls.incrementAndGet();
+            return Optional.ofNullable(values.get(key));
+        }
+    }
+
+    @Test
+    void resolvesWithFirstSemantics() {
+        final CountingSource local = new CountingSource().put("a", "local");
+        final CountingSource db = new CountingSource().put("a", "db").put("b", "db");
+        final TieredResolver<String, String> resolver = TieredResolver.first(local).then(db);
+        assertAll(
+                () -> assertEquals("local", resolver.resolve("a").or(() -> "none")),
+                () -> assertEquals("db", resolver.resolve("b").or(() -> "none")),
+                () -> assertTrue(resolver.resolve("c").isEmpty())
+        );
+        assertEquals(3, local.calls.get());
+        assertEquals(2, db.calls.get());
+    }
+
+    @Test
+    void cachesHitsUntilTtlExpires() {
+        final AtomicLong clock = new AtomicLong();
+        final CountingSource db = new CountingSource().put("a", "db");
+        final TieredResolver<String, String> resolver = TieredResolver.first(db,
+                CachePolicy.of(10, Duration.ofNanos(100)).withNanoClock(clock::get));
+        resolver.resolve("a");
+        clock.set(99);
+        resolver.resolve("a");
+        assertEquals(1, db.calls.get());
+        clock.set(100);
+        resolver.resolve("a");
+        assertEquals(2, db.calls.get());
+    }
+
+    @Test
+    void negativeCacheSkipsRepeatedMisses() {
+        final AtomicLong clock = new AtomicLong();
+        final CountingSource db = new CountingSource();
+        final TieredResolver<String, String> resolver = TieredResolver.first(db,
+                CachePolicy.of(10, Duration.ofNanos(100))
+                        .withNegativeTtl(Duration.ofNanos(10))
+                        .withNanoClock(clock::get));
+        resolver.resolve("missing");
+        resolver.resolve("missing");
+        assertEquals(1, db.calls.get());
+        clock.set(10);
+        resolver.resolve("missing");
+        assertEquals(2, db.calls.get());
+    }
+
+    @Test
+    void missesAreNotCachedWithoutNegativeTtl() {
+        final CountingSource db = new CountingSource();
+        final TieredResolver<String, String> resolver = TieredResolver.first(db, CachePolicy.of(10, Duration.ofHours(1)));
+        resolver.resolve("missing");
+        resolver.resolve("missing");
+        assertEquals(2, db.calls.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final CountingSource db = new CountingSource().put("a", "1").put("b", "2").put("c", "3");
+        final TieredResolver<String, String> resolver = TieredResolver.first(db, CachePolicy.of(2, Duration.ofHours(1)));
+        resolver.resolve("a");
+        resolver.resolve("b");
+        resolver.resolve("a");
+        resolver.resolve("c");
+        assertEquals(3, db.calls.get());
+        resolver.resolve("a");
+        assertEquals(3, db.calls.get());
+        resolver.resolve("b");
+        assertEquals(4, db.calls.get());
+    }
+
+    @Test
+    void invalidateDropsCachedEntries() {
+        final CountingSource db = new CountingSource().put("a", "db");
+        final TieredResolver<String, String> resolver = TieredResolver.first(db, CachePolicy.of(10, Duration.ofHours(1)));
+        resolver.resolve("a");
+        resolver.invalidate("a");
+        resolver.resolve("a");
+        assertEquals(2, db.calls.get());
+    }
+
+    @Test
+    void concurrentCallersShareOneLookup() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final TieredResolver<String, String> resolver = TieredResolver.first(key -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of("slow");
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<First<String>> leader = executor.submit(() -> resolver.resolve("a"));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            final Future<First<String>> follower = executor.submit(() -> resolver.resolve("a"));
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (resolver.inFlight("a").getNumberOfDependents() == 0) {
+                assertTrue(System.nanoTime() < deadline, "follower never waited on the leader's lookup");
+                Thread.yield();
+            }
+            release.countDown();
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS).or(() -> "none"));
+            assertEquals("slow", follower.get(5, TimeUnit.SECONDS).or(() -> "none"));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cacheStaysConsistentAndBoundedUnderConcurrentAccess() throws Exception {
+        final ExpiringCache<Integer, String> cache = new ExpiringCache<>(CachePolicy.of(4_096, Duration.ofHours(1)));
+        assertEquals(16, cache.stripeCount());
+        assertEquals(1, new ExpiringCache<Integer, String>(CachePolicy.of(10, Duration.ofHours(1))).stripeCount());
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int seed = t;
+                results.add(executor.submit(() -> {
+                    final Random random = new Random(seed);
+                    start.await();
+                    int wrong = 0;
+                    for (int i = 0; i < 50_000; i++) {
+                        final int key = random.nextInt(10_000);
+                        final Optional<String> cached = cache.get(key);
+                        if (cached == null) {
+                            cache.put(key, Optional.of("v" + key));
+                        } else if (!cached.equals(Optional.of("v" + key))) {
+                            wrong++;
+                        }
+                    }
+                    return wrong;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(0), result.get(30, TimeUnit.SECONDS));
+            }
+            assertTrue(cache.size() <= 4_096, () -> "size " + cache.size());
+            assertTrue(cache.size() > 3_000, () -> "size " + cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureIsSharedAndNotCached() {
+        final AtomicInteger calls = new AtomicInteger();
+        final TieredResolver<String, String> resolver = TieredResolver.first(key -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("down");
+            }
+            return Optional.of("up");
+        }, CachePolicy.of(10, Duration.ofHours(1)));
+        assertThrows(IllegalStateException.class, () -> resolver.resolve("a"));
+        assertEquals("up", resolver.resolve("a").or(() -> "none"));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopKTest {
+
+    private static List<Pair<String, Integer>> scores(int count, long seed) {
+        final Random random = new Random(seed);
+        final List<Pair<String, Integer>> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new Pair<>("item-" + i, random.nextInt(100)));
+        }
+        return list;
+    }
+
+    private static List<Pair<String, Integer>> sorted(List<Pair<String, Integer>> list, int k, boolean largest) {
+        final Comparator<Pair<String, Integer>> byScore = Comparator.comparing(Pair::getRight);
+        return list.stream()
+                .sorted((largest ? byScore.reversed() : byScore).thenComparing(Pair::getLeft))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void topKMatchesSorting() {
+        final List<Pair<String, Integer>> list = scores(5_000, 24L);
+        final TopK<String, Integer> largest = TopK.largest(10);
+        final TopK<String, Integer> smallest = TopK.smallest(10);
+        list.forEach(largest::add);
+        list.forEach(smallest::add);
+        assertEquals(sorted(list, 10, true), largest.toList());
+        assertEquals(sorted(list, 10, false), smallest.toList());
+        assertEquals(10, largest.size());
+    }
+
+    @Test
+    void topKHoldsFewerThanK() {
+        final TopK<String, Integer> top = TopK.largest(5);
+        assertTrue(top.isEmpty());
+        top.add("a", 1);
+        top.add("b", 3);
+        assertEquals(2, top.size());
+        assertEquals(new Pair<>("b", 3), top.toList().get(0));
+        assertThrows(IllegalArgumentException.class, () -> TopK.largest(0));
+    }
+
+    @Test
+    void tiesDoNotDependOnInputOrder() {
+        final List<Pair<String, Integer>> list = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            list.add(new Pair<>("item-" + i, i % 3));
+        }
+        final List<Pair<String, Integer>> expected = sorted(list, 7, true);
+        final Random random = new Random(7L);
+        for (int round = 0; round < 20; round++) {
+            Collections.shuffle(list, random);
+            final TopK<String, Integer> top = TopK.largest(7);
+            list.forEach(top::add);
+            assertEquals(expected, top.toList());
+        }
+    }
+
+    @Test
+    void appendMergesPartialStates() {
+        final List<Pair<String, Integer>> list = scores(1_000, 3L);
+        final TopK<String, Integer> left = TopK.largest(8);
+        final TopK<String, Integer> right = TopK.largest(8);
+        for (int i = 0; i < list.size(); i++) {
+            (i % 2 == 0 ? left : right).add(list.get(i));
+        }
+        final List<Pair<String, Integer>> expected = sorted(list, 8, true);
+        assertEquals(expected, left.append(right).toList());
+        assertEquals(expected, right.append(left).toList());
+        assertEquals(expected, left.append(right).append(TopK.largest(8)).toList());
+        assertEquals(8, left.size());
+    }
+
+    @Test
+    void foldsInParallel() {
+        final List<Pair<String, Integer>> list = scores(20_000, 11L);
+        final TopK<String, Integer> top = MonoidReduction.<TopK<String, Integer>>withIdentity(() -> TopK.largest(5))
+                .sequentialCutoff(64)
+                .reduce(list, pair -> {
+                    final TopK<String, Integer> single = TopK.largest(5);
+                    single.add(pair);
+                    return single;
+                });
+        assertEquals(sorted(list, 5, true), top.toList());
+
+        final Arg<String, Integer> min = MonoidReduction.<Arg<String, Integer>>withIdentity(Arg::min)
+                .sequentialCutoff(64)
+                .reduce(list, Arg.<String, Integer>min()::of);
+        assertEquals(sorted(list, 1, false).get(0), min.toPair().orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void primitiveScoresMatchBoxed() {
+        final List<Pair<String, Integer>> list = scores(3_000, 5L);
+        final LongTopK<String> longs = LongTopK.largest(6);
+        final DoubleTopK<String> doubles = DoubleTopK.smallest(6);
+        final LongTopK<String> evens = LongTopK.largest(6);
+        final LongTopK<String> odds = LongTopK.largest(6);
+        for (int i = 0; i < list.size(); i++) {
+            final Pair<String, Integer> pair = list.get(i);
+            longs.add(pair.getLeft(), pair.getRight());
+            doubles.add(pair.getLeft(), pair.getRight());
+            (i % 2 == 0 ? evens : odds).add(pair.getLeft(), pair.getRight());
+        }
+        final List<Pair<String, Long>> expectedLongs = sorted(list, 6, true).stream()
+                .map(pair -> new Pair<>(pair.getLeft(), pair.getRight().longValue()))
+                .collect(Collectors.toList());
+        assertEquals(expectedLongs, longs.toList().stream().map(ObjLongPair::toPair).collect(Collectors.toList()));
+        assertEquals(expectedLongs, evens.append(odds).toList().stream().map(ObjLongPair::toPair).collect(Collectors.toList()));
+        assertEquals(sorted(list, 6, false).stream()
+                        .map(pair -> new Pair<>(pair.getLeft(), pair.getRight().doubleValue()))
+                        .collect(Collectors.toList()),
+                doubles.toList().stream().map(ObjDoublePair::toPair).collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class, () -> doubles.add("nan", Double.NaN));
+    }
+
+    @Test
+    void argKeepsBestWithDeterministicTies() {
+        final Arg<String, Integer> max = Arg.max();
+        assertTrue(max.isEmpty());
+        assertEquals(max, max.append(max));
+        final Arg<String, Integer> b = max.of("b", 2);
+        final Arg<String, Integer> a = max.of("a", 2);
+        final Arg<String, Integer> c = max.of("c", 1);
+        assertEquals(a, a.append(b));
+        assertEquals(a, b.append(a));
+        assertEquals(a, c.append(max).append(b).append(a));
+        assertEquals(b, max.append(b));
+        assertEquals(c, Arg.<String, Integer>min().of("c", 1).append(Arg.<String, Integer>min().of("a", 2)));
+        assertEquals("a", a.getItem().orElse(null));
+        assertEquals(Integer.valueOf(2), a.getScore().orElse(null));
+    }
+}
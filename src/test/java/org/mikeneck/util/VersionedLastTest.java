@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 Shinya Mochida
+ * 
+ * Licensed under the Apache License,Version2.0(the"License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,software
+ * Distributed under the License is distributed on an"AS IS"BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.mikeneck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionedLastTest {
+
+    private static final class Node {
+        private final AtomicLong millis;
+        private final HybridLogicalClock clock;
+        private VersionedLast<String> state = VersionedLast.empty();
+        private final Version[] seen;
+
+        private Node(int id, long skew, int nodes) {
+            this.millis = new AtomicLong(1_000L + skew);
+            this.clock = new HybridLogicalClock(id, millis::get);
+            this.seen = new Version[nodes];
+        }
+
+        private void write(String value) {
+            state = state.append(VersionedLast.of(clock.tick(), value));
+        }
+
+        private VersionedLast<String> deltaFor(int peer) {
+            return state.deltaSince(seen[peer]);
+        }
+
+        private void receive(int peer, VersionedLast<String> delta) {
+            delta.getVersion().ifPresent(version -> {
+                clock.observe(version);
+                seen[peer] = version;
+            });
+            state = state.append(delta);
+        }
+    }
+
+    @Test
+    void appendKeepsGreatestVersionRegardlessOfOrder() {
+        final VersionedLast<String> a = VersionedLast.of(new Version(1L, 0), "a");
+        final VersionedLast<String> b = VersionedLast.of(new Version(2L, 0), "b");
+        final VersionedLast<String> c = VersionedLast.of(new Version(2L, 1), "c");
+        final List<VersionedLast<String>> values = new ArrayList<>();
+        values.add(VersionedLast.empty());
+        values.add(a);
+        values.add(b);
+        values.add(c);
+        for (VersionedLast<String> x : values) {
+            assertEquals(x, x.append(x));
+            for (VersionedLast<String> y : values) {
+                assertEquals(x.append(y), y.append(x));
+                for (VersionedLast<String> z : values) {
+                    assertEquals(x.append(y).append(z), x.append(y.append(z)));
+                }
+            }
+        }
+        assertEquals("c", a.append(c).append(b).or(() -> "none"));
+    }
+
+    @Test
+    void emptyRegister() {
+        final VersionedLast<String> empty = VersionedLast.empty();
+        assertAll(
+                () -> assertTrue(empty.isEmpty()),
+                () -> assertFalse(empty.getVersion().isPresent()),
+                () -> assertEquals("none", empty.or(() -> "none")),
+                () -> assertTrue(empty.toLast().isEmpty()),
+                () -> assertTrue(empty.map(String::length).isEmpty())
+        );
+    }
+
+    @Test
+    void mapKeepsVersion() {
+        final Version version = new Version(5L, 2);
+        final VersionedLast<Integer> mapped = VersionedLast.of(version, "abc").map(String::length);
+        assertEquals(VersionedLast.of(version, 3), mapped);
+    }
+
+    @Test
+    void deltaIsEmptyOnceSeen() {
+        final VersionedLast<String> register = VersionedLast.of(new Version(5L, 1), "v");
+        assertAll(
+                () -> assertEquals(register, register.deltaSince(null)),
+                () -> assertEquals(register, register.deltaSince(new Version(5L, 0))),
+                () -> assertTrue(register.deltaSince(new Version(5L, 1)).isEmpty()),
+                () -> assertTrue(register.deltaSince(new Version(6L, 0)).isEmpty())
+        );
+    }
+
+    @Test
+    void clockIsMonotonicWhenWallClockGoesBack() {
+        final AtomicLong millis = new AtomicLong(100L);
+        final HybridLogicalClock clock = new HybridLogicalClock(1, millis::get);
+        final Version first = clock.tick();
+        millis.set(50L);
+        final Version second = clock.tick();
+        millis.set(200L);
+        final Version third = clock.tick();
+        assertAll(
+                () -> assertTrue(second.isAfter(first)),
+                () -> assertEquals(100L, HybridLogicalClock.physicalMillis(second.getTimestamp())),
+                () -> assertTrue(third.isAfter(second)),
+                () -> assertEquals(200L, HybridLogicalClock.physicalMillis(third.getTimestamp()))
+        );
+    }
+
+    @Test
+    void counterNeverCarriesIntoMillis() {
+        final HybridLogicalClock clock = new HybridLogicalClock(1, () -> 100L);
+        Version last = null;
+        for (int i = 0; i < 1 << HybridLogicalClock.COUNTER_BITS; i++) {
+            last = clock.tick();
+        }
+        final long saturated = last.getTimestamp();
+        assertAll(
+                () -> assertEquals(100L, HybridLogicalClock.physicalMillis(saturated)),
+                () -> assertThrows(IllegalStateException.class, clock::tick),
+                () -> assertThrows(IllegalStateException.class, () -> clock.observe(new Version(saturated, 2)))
+        );
+    }
+
+    @Test
+    void saturatedCounterWaitsForNextMillisecond() {
+        final int ticks = 1 << HybridLogicalClock.COUNTER_BITS;
+        final AtomicLong calls = new AtomicLong();
+        final HybridLogicalClock clock = new HybridLogicalClock(1, () -> calls.incrementAndGet() > ticks + 3 ? 101L : 100L);
+        Version last = null;
+        for (int i = 0; i < ticks; i++) {
+            last = clock.tick();
+        }
+        final Version saturated = last;
+        final Version next = clock.tick();
+        assertAll(
+                () -> assertTrue(next.isAfter(saturated)),
+                () -> assertEquals(101L << HybridLogicalClock.COUNTER_BITS, next.getTimestamp())
+        );
+    }
+
+    @Test
+    void observedVersionsAreOvertaken() {
+        final HybridLogicalClock behind = new HybridLogicalClock(1, () -> 10L);
+        final Version remote = new Version(1_000L << HybridLogicalClock.COUNTER_BITS, 2);
+        final Version after = behind.observe(remote);
+        assertTrue(after.isAfter(remote));
+        assertTrue(behind.tick().isAfter(after));
+    }
+
+    @Test
+    void simulatedNodesConvergeUnderRandomGossip() {
+        final Random random = new Random(20L);
+        final int count = 4;
+        final List<Node> nodes = new ArrayList<>();
+        for (int id = 0; id < count; id++) {
+            nodes.add(new Node(id, random.nextInt(50) - 25, count));
+        }
+        VersionedLast<String> expected = VersionedLast.empty();
+        for (int round = 0; round < 500; round++) {
+            final Node writer = nodes.get(random.nextInt(count));
+            writer.millis.addAndGet(random.nextInt(3));
+            writer.write("w" + round);
+            expected = expected.append(writer.state);
+            final List<int[]> messages = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                messages.add(new int[]{random.nextInt(count), random.nextInt(count)});
+            }
+            Collections.shuffle(messages, random);
+            for (int[] message : messages) {
+                final Node from = nodes.get(message[0]);
+                nodes.get(message[1]).receive(message[0], from.deltaFor(message[1]));
+            }
+        }
+        for (Node from : nodes) {
+            for (int to = 0; to < count; to++) {
+                nodes.get(to).receive(from.clock.getNode(), from.state);
+            }
+        }
+        for (Node node : nodes) {
+            assertEquals(expected, node.state);
+        }
+    }
+
+    @Test
+    void codecRoundTrip() {
+        final Codec<VersionedLast<String>> codec = Codecs.versionedLast(Codecs.STRING);
+        final VersionedLast<String> register = VersionedLast.of(new Version(42L, 3), "value");
+        assertEquals(register, codec.read(Codecs.encode(codec, register)));
+        assertTrue(codec.read(Codecs.encode(codec, VersionedLast.empty())).isEmpty());
+    }
+}